@@ -0,0 +1,221 @@
+package de.thm.asc.automata;
+
+import de.thm.asc.automata.algorithms.SimulationReduction;
+import de.thm.asc.automata.parsing.AutomatonParser;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Processes many automaton description files concurrently. Every file is handled on its own virtual thread, while the
+ * CPU-heavy determinization is limited to one file per available processor at a time.
+ * <p>
+ * For each file, the dot code of the nondeterministic and the deterministic automaton is written next to it, just like
+ * {@link Main} does for a single file. Failures are reported per file and do not abort the remaining files.
+ */
+public class BatchProcessor {
+
+    /**
+     * The outcome of processing a single file.
+     *
+     * @param file          The processed file.
+     * @param nfaStates     The number of states of the parsed automaton.
+     * @param reducedStates The number of states left after the simulation reduction.
+     * @param dfaStates     The number of states of the deterministic automaton.
+     * @param parseMillis   The time spent reading and parsing the file.
+     * @param waitMillis    The time spent waiting for a free processor before the determinization.
+     * @param dfaMillis     The time spent reducing and determinizing the automaton.
+     * @param writeMillis   The time spent writing the dot files.
+     * @param error         The error that occurred or null if the file was processed successfully.
+     */
+    public record Result(
+            Path file,
+            int nfaStates,
+            int reducedStates,
+            int dfaStates,
+            long parseMillis,
+            long waitMillis,
+            long dfaMillis,
+            long writeMillis,
+            Throwable error
+    ) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            if (isSuccess()) {
+                return String.format("OK   %s (states %d -> %d -> %d, parse %d ms, wait %d ms, dfa %d ms, write %d ms)",
+                        file, nfaStates, reducedStates, dfaStates, parseMillis, waitMillis, dfaMillis, writeMillis);
+            } else {
+                return String.format("FAIL %s: %s: %s", file, error.getClass().getSimpleName(), error.getMessage());
+            }
+        }
+    }
+
+    private final Semaphore determinizationSlots;
+
+    public BatchProcessor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism The maximum number of automata to be determinized at the same time.
+     */
+    public BatchProcessor(int parallelism) {
+        this.determinizationSlots = new Semaphore(parallelism);
+    }
+
+    /**
+     * Collects all description files denoted by the given arguments. An argument may be a regular file, a directory
+     * (which is searched recursively) or a glob pattern such as {@code automata/*.txt}. Dot files generated by a
+     * previous run are skipped when searching directories and glob patterns, and every file is returned only once.
+     *
+     * @param arguments The files, directories and glob patterns.
+     * @return The description files found.
+     * @throws IOException Thrown when a directory cannot be searched.
+     */
+    public static List<Path> collectFiles(List<String> arguments) throws IOException {
+        // Normalized absolute paths, so a file matched by several arguments is only processed once
+        Set<Path> files = new LinkedHashSet<>();
+
+        for (var argument : arguments) {
+            if (isGlob(argument)) {
+                var matcher = FileSystems.getDefault().getPathMatcher("glob:" + argument);
+                var root = globRoot(argument);
+
+                try (Stream<Path> walk = Files.walk(root)) {
+                    walk.filter(Files::isRegularFile)
+                            .filter(matcher::matches)
+                            .filter(BatchProcessor::isDescription)
+                            .sorted()
+                            .forEach(p -> files.add(p.toAbsolutePath().normalize()));
+                }
+            } else {
+                var path = Path.of(argument);
+
+                if (Files.isDirectory(path)) {
+                    try (Stream<Path> walk = Files.walk(path)) {
+                        walk.filter(Files::isRegularFile)
+                                .filter(BatchProcessor::isDescription)
+                                .sorted()
+                                .forEach(p -> files.add(p.toAbsolutePath().normalize()));
+                    }
+                } else {
+                    files.add(path.toAbsolutePath().normalize());
+                }
+            }
+        }
+
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * @return Whether the given file may be a description, i.e. is not a dot file generated by a previous run.
+     */
+    private static boolean isDescription(Path file) {
+        return !file.getFileName().toString().endsWith(".dot");
+    }
+
+    private static boolean isGlob(String argument) {
+        return argument.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    /**
+     * @param glob A glob pattern.
+     * @return The longest leading directory of the pattern that does not contain any wildcards.
+     */
+    private static Path globRoot(String glob) {
+        var root = Path.of("");
+        var parts = glob.split("[/\\\\]");
+
+        for (int i = 0; i < parts.length - 1 && !isGlob(parts[i]); i++) {
+            root = i == 0 && parts[i].isEmpty() ? Path.of("/") : root.resolve(parts[i]);
+        }
+
+        return root;
+    }
+
+    /**
+     * Processes all given files concurrently and waits until every file is done.
+     *
+     * @param files The description files to process.
+     * @return The results in the order of the given files.
+     * @throws InterruptedException Thrown when the calling thread is interrupted while waiting.
+     */
+    public List<Result> process(List<Path> files) throws InterruptedException {
+        List<Future<Result>> futures = new ArrayList<>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var file : files) {
+                futures.add(executor.submit(() -> processFile(file)));
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof InterruptedException interrupted) {
+                    throw interrupted;
+                }
+
+                // Errors such as an OutOfMemoryError during a subset blowup only fail their own file
+                results.add(new Result(files.get(i), 0, 0, 0, 0, 0, 0, 0, e.getCause()));
+            }
+        }
+
+        return results;
+    }
+
+    private Result processFile(Path file) throws InterruptedException {
+        long parseMillis = 0, waitMillis = 0, dfaMillis = 0;
+        long start = System.nanoTime();
+
+        try {
+            var nfa = AutomatonParser.parseFile(file.toString());
+            parseMillis = millisSince(start);
+
+            start = System.nanoTime();
+            var reduction = new AtomicReference<SimulationReduction.Reduction>();
+            FiniteAutomaton dfa;
+            determinizationSlots.acquire();
+            waitMillis = millisSince(start);
+
+            start = System.nanoTime();
+            try {
+                dfa = nfa.toDFA(reduction::set);
+            } finally {
+                determinizationSlots.release();
+            }
+            dfaMillis = millisSince(start);
+
+            start = System.nanoTime();
+            Files.writeString(Path.of(file + ".nfa.dot"), nfa.toDotCode());
+            Files.writeString(Path.of(file + ".dfa.dot"), dfa.toDotCode());
+
+            // Deterministic automata are not reduced
+            int reducedStates = reduction.get() == null ? nfa.states().size() : reduction.get().reduced().states().size();
+
+            return new Result(file, nfa.states().size(), reducedStates, dfa.states().size(),
+                    parseMillis, waitMillis, dfaMillis, millisSince(start), null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(file, 0, 0, 0, parseMillis, waitMillis, dfaMillis, 0, e);
+        }
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -1,8 +1,20 @@
 package de.thm.asc.automata;
 
 import de.thm.asc.automata.algorithms.PowersetConstruction;
-
+import de.thm.asc.automata.algorithms.SimulationReduction;
+import de.thm.asc.automata.algorithms.Utf8Construction;
+import de.thm.asc.automata.matching.BitParallelMatcher;
+import de.thm.asc.automata.matching.DfaMatcher;
+import de.thm.asc.automata.matching.Matcher;
+import de.thm.asc.automata.matching.MatcherCursor;
+import de.thm.asc.automata.matching.NfaMatcher;
+import de.thm.asc.automata.matching.ProductMatcher;
+import de.thm.asc.automata.matching.WideBitParallelMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -54,14 +66,15 @@ public record FiniteAutomaton(
 
     /**
      * Steps through this automaton using the given string.
-     * Caution: Only possible for deterministic automatons!
+     * Nondeterministic automata are simulated by an {@link NfaMatcher}, which tracks the set of active states without
+     * building any tables. Callers testing many strings should compile a {@link #matcher()} once and keep it instead.
      *
      * @param s The string of symbols to be tested against this automaton.
      * @return Whether the string is accepted by this automaton.
      */
     public boolean test(String s) {
         if (!this.isDeterministic()) {
-            throw new IllegalStateException("Stepping through non-deterministic automata unsupported");
+            return NfaMatcher.compile(this).test(s);
         }
 
         var currentState = initialState;
@@ -104,12 +117,98 @@ public record FiniteAutomaton(
 
     /**
      * Converts this automaton to a deterministic automaton.
+     * Nondeterministic automata are reduced using the {@link SimulationReduction} before the powerset construction.
      *
      * @return The converted deterministic automaton.
      */
     public FiniteAutomaton toDFA() {
+        return this.toDFA(reduction -> {});
+    }
+
+    /**
+     * Converts this automaton to a deterministic automaton like {@link #toDFA()} and reports the outcome of the
+     * {@link SimulationReduction}. Automata with more than {@link SimulationReduction#MAX_STATES} states are
+     * determinized without the reduction, since its quadratic cost outweighs its benefit for them.
+     *
+     * @param report Receives the outcome of the reduction. It is not called if the reduction is skipped, in particular
+     *               for deterministic automata, which are returned as they are.
+     * @return The converted deterministic automaton.
+     */
+    public FiniteAutomaton toDFA(Consumer<SimulationReduction.Reduction> report) {
         if (this.isDeterministic()) return this;
-        else return PowersetConstruction.apply(this);
+        if (this.states.size() > SimulationReduction.MAX_STATES) return PowersetConstruction.apply(this);
+
+        var reduction = SimulationReduction.reduce(this);
+        report.accept(reduction);
+
+        return PowersetConstruction.apply(reduction.reduced());
+    }
+
+    /**
+     * Converts this automaton to an equivalent deterministic automaton reading UTF-8 bytes instead of chars.
+     * Each byte is represented by a symbol in the range 0x00 to 0xFF.
+     *
+     * @return The converted automaton over UTF-8 bytes.
+     */
+    public FiniteAutomaton toUtf8() {
+        return Utf8Construction.apply(this);
+    }
+
+    /**
+     * Compiles this automaton into a matcher. Deterministic automata are compiled into a transition table.
+     * Nondeterministic automata are simulated bit-parallel if they are small enough and determinized otherwise.
+     *
+     * @return The compiled matcher.
+     */
+    public Matcher matcher() {
+        if (this.isDeterministic()) return DfaMatcher.compile(this);
+        else if (this.states.size() <= BitParallelMatcher.MAX_STATES) return BitParallelMatcher.compile(this);
+        else if (this.states.size() <= WideBitParallelMatcher.MAX_STATES) return WideBitParallelMatcher.compile(this);
+        else return DfaMatcher.compile(this.toDFA());
+    }
+
+    /**
+     * Compiles this automaton into a deterministic matcher and returns a cursor for incrementally feeding input to it.
+     *
+     * @return A new cursor positioned at the start of the input.
+     */
+    public MatcherCursor cursor() {
+        return DfaMatcher.compile(this.toDFA()).cursor();
+    }
+
+    /**
+     * Creates a matcher for the intersection of this automaton with the given automata.
+     * Use {@link ProductMatcher#toAutomaton()} to obtain the product as an automaton.
+     *
+     * @param others The automata to intersect this automaton with.
+     * @return A matcher accepting the words accepted by this and all given automata.
+     */
+    public ProductMatcher intersection(FiniteAutomaton... others) {
+        List<FiniteAutomaton> operands = new ArrayList<>(List.of(others));
+        operands.add(0, this);
+
+        return ProductMatcher.intersection(operands.toArray(new FiniteAutomaton[0]));
+    }
+
+    /**
+     * Creates a matcher for the difference of this automaton and the given automaton.
+     * Use {@link ProductMatcher#toAutomaton()} to obtain the product as an automaton.
+     *
+     * @param other The automaton whose words are excluded.
+     * @return A matcher accepting the words accepted by this automaton but not by the given automaton.
+     */
+    public ProductMatcher difference(FiniteAutomaton other) {
+        return ProductMatcher.difference(this, other);
+    }
+
+    /**
+     * Creates a matcher for the complement of this automaton.
+     * Use {@link ProductMatcher#toAutomaton()} to obtain the complement as an automaton over this alphabet.
+     *
+     * @return A matcher accepting all words not accepted by this automaton.
+     */
+    public ProductMatcher complement() {
+        return ProductMatcher.complement(this);
     }
 
     @Override
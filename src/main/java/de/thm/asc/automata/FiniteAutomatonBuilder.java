@@ -1,26 +1,29 @@
 package de.thm.asc.automata;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Allow the successive construction of an automaton.
+ * Transitions are stored packed and deduplicated, so adding and looking up a transition takes constant time.
  */
 public class FiniteAutomatonBuilder {
 
     private State initialState = null;
     private Set<State> states = new HashSet<>();
-    private Set<Transition> transitions = new HashSet<>();
+    private TransitionStore transitions = new TransitionStore();
     private Set<State> finalStates = new HashSet<>();
     private int stateCounter = 0;
 
+    // Indices of all states occurring in transitions, used to pack the transitions
+    private List<State> indexedStates = new ArrayList<>();
+    private Map<State, Integer> stateIndices = new HashMap<>();
+
     public FiniteAutomatonBuilder() {
     }
 
     public FiniteAutomatonBuilder(FiniteAutomaton automaton) {
         this.states.addAll(automaton.states());
-        this.transitions.addAll(automaton.transitions());
+        automaton.transitions().forEach(this::addTransition);
 
         this.setInitialState(automaton.initialState());
         automaton.finalStates().forEach(this::makeFinalState);
@@ -82,13 +85,15 @@ public class FiniteAutomatonBuilder {
     }
 
     /**
-     * Adds a new transition to the automaton. Use the static constructor functions in the {@link Transition} class
+     * Adds a new transition to the automaton. Use the static constructor functions in the {@link Transition} class.
+     * Adding a transition that already exists has no effect.
      *
      * @param transition The transition to add to this automaton.
      * @return The newly added transition
      */
     public Transition addTransition(Transition transition) {
-        transitions.add(transition);
+        var symbol = transition.isEpsilonTransition() ? null : transition.symbol();
+        transitions.add(TransitionStore.pack(index(transition.left), symbol, index(transition.right)));
 
         return transition;
     }
@@ -98,17 +103,38 @@ public class FiniteAutomatonBuilder {
      *
      * @param from   The left side of the transition (the 'from' state).
      * @param to     The right side of the transition (the 'to' state).
-     * @param symbol The symbol of this transition. Epsilon transitions are represented by an empty symbol.
+     * @param symbol The symbol of this transition. Epsilon transitions are represented by null.
      * @return Whether the automaton contains the given transition.
      */
     public boolean hasTransition(State from, State to, Symbol symbol) {
-        for (var t : transitions) {
-            if (t.left.equals(from) && t.right.equals(to) && t.symbol().equals(symbol)) {
-                return true;
+        var left = stateIndices.get(from);
+        var right = stateIndices.get(to);
+
+        if (left == null || right == null) {
+            return false;
+        }
+
+        return transitions.contains(TransitionStore.pack(left, symbol, right));
+    }
+
+    /**
+     * @param state A state of a transition.
+     * @return The index of the given state, which is assigned on first use.
+     */
+    private int index(State state) {
+        var index = stateIndices.get(state);
+
+        if (index == null) {
+            if (indexedStates.size() == TransitionStore.MAX_STATES) {
+                throw new IllegalStateException(String.format("Automaton has more than %d states", TransitionStore.MAX_STATES));
             }
+
+            index = indexedStates.size();
+            indexedStates.add(state);
+            stateIndices.put(state, index);
         }
 
-        return false;
+        return index;
     }
 
     /**
@@ -116,12 +142,28 @@ public class FiniteAutomatonBuilder {
      * @return The built automaton.
      */
     public FiniteAutomaton result() {
+        Set<Symbol> alphabet = new HashSet<>();
+        Set<Transition> transitions = new HashSet<>(this.transitions.size() * 2);
+
+        this.transitions.forEach(packed -> {
+            var left = this.indexedStates.get(TransitionStore.left(packed));
+            var right = this.indexedStates.get(TransitionStore.right(packed));
+            var symbol = TransitionStore.symbol(packed);
+
+            if (symbol == null) {
+                transitions.add(Transition.newEpsilonTransition(left, right));
+            } else {
+                alphabet.add(symbol);
+                transitions.add(Transition.newSymbolTransition(left, right, symbol));
+            }
+        });
+
         return new FiniteAutomaton(
                 this.states,
-                this.transitions.stream().flatMap(t -> t.symbol.stream()).collect(Collectors.toSet()),
+                alphabet,
                 this.initialState,
                 this.finalStates,
-                this.transitions
+                transitions
         );
     }
 }
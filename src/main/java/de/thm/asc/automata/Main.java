@@ -1,19 +1,50 @@
 package de.thm.asc.automata;
 
+import de.thm.asc.automata.algorithms.PowersetConstruction;
+import de.thm.asc.automata.algorithms.SimulationReduction;
 import de.thm.asc.automata.parsing.AutomatonParser;
+import de.thm.asc.automata.parsing.ParserException;
+import de.thm.asc.automata.server.MatchServer;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Main {
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            batch(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        if (args.length > 1 && args[0].equals("--serve")) {
+            serve(args[1], Arrays.copyOfRange(args, 2, args.length));
+            return;
+        }
+
+        // Also determinize the unreduced automaton to show what the simulation reduction saves
+        boolean compare = args.length > 0 && args[0].equals("--compare");
+        if (compare) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+
         try {
             String fileName = args.length > 0 ? args[0] : "input.txt";
 
             FiniteAutomaton nfa = AutomatonParser.parseFile(fileName);
 
-            FiniteAutomaton dfa = nfa.toDFA();
+            var reduction = new AtomicReference<SimulationReduction.Reduction>();
+
+            long start = System.nanoTime();
+            FiniteAutomaton dfa = nfa.toDFA(reduction::set);
+            long dfaMillis = (System.nanoTime() - start) / 1_000_000;
 
             var nfa_filename = fileName + ".nfa.dot";
             var dfa_filename = fileName + ".dfa.dot";
@@ -27,6 +58,27 @@ public class Main {
             System.out.println("Dot-code for deterministic automaton:");
             System.out.println(dfa_dot);
 
+            // Deterministic input is returned as it is, so there is nothing to report
+            if (dfa != nfa) {
+                long reductionMillis = 0;
+                if (reduction.get() != null) {
+                    System.out.printf("Simulation reduction: %s.%n", reduction.get());
+                    reductionMillis = reduction.get().millis();
+                } else {
+                    System.out.printf("Simulation reduction: skipped for more than %d states.%n",
+                            SimulationReduction.MAX_STATES);
+                }
+                System.out.printf("Powerset construction: %d states in %d ms.%n",
+                        dfa.states().size(), dfaMillis - reductionMillis);
+
+                if (compare) {
+                    start = System.nanoTime();
+                    var unreduced = PowersetConstruction.apply(nfa);
+                    System.out.printf("Powerset construction without reduction: %d states in %d ms.%n",
+                            unreduced.states().size(), (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+
             try (
                     FileWriter fw1 = new FileWriter(nfa_filename);
                     FileWriter fw2 = new FileWriter(dfa_filename)
@@ -36,8 +88,77 @@ public class Main {
 
                 System.out.printf("Dot files printed to '%s' and '%s'.%n", nfa_filename, dfa_filename);
             }
+        } catch (ParserException e) {
+            System.err.printf("Error: %s%n", e.getMessage());
+            System.exit(1);
         } catch (IOException|RuntimeException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Processes all description files denoted by the given files, directories and glob patterns and reports the
+     * outcome for every file. Exits with status 1 if any file failed.
+     *
+     * @param args The files, directories and glob patterns to process.
+     */
+    private static void batch(String[] args) {
+        try {
+            var files = BatchProcessor.collectFiles(Arrays.asList(args));
+            long start = System.nanoTime();
+
+            var results = new BatchProcessor().process(files);
+            results.forEach(System.out::println);
+
+            long failed = results.stream().filter(r -> !r.isSuccess()).count();
+            System.out.printf("Processed %d files in %d ms, %d failed.%n",
+                    results.size(), (System.nanoTime() - start) / 1_000_000, failed);
+
+            if (failed > 0) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Serves match requests for the automata described in the given files until the process is terminated.
+     *
+     * @param address A port on the loopback interface or the path of a Unix domain socket.
+     * @param files   The description files of the automata to serve.
+     */
+    private static void serve(String address, String[] files) {
+        try {
+            SocketAddress socketAddress = address.matches("\\d+")
+                    ? new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address))
+                    : UnixDomainSocketAddress.of(address);
+
+            var server = new MatchServer(Arrays.stream(files).map(Path::of).toList());
+
+            // serve only returns once the server is closed, so the hook is the only place that closes it. It also
+            // runs on System.exit, which removes the socket file when binding or serving fails.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+
+            server.bind(socketAddress);
+            System.out.printf("Serving %d automata on %s.%n", files.length, server.address());
+            server.serve();
+        } catch (IllegalArgumentException e) {
+            // Invalid ports and automata that cannot be loaded
+            System.err.printf("Error: %s%n", e.getMessage());
+            System.exit(1);
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
 }
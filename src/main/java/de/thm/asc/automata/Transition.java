@@ -1,9 +1,11 @@
 package de.thm.asc.automata;
 
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Represents a single transition of an automaton.
+ * Two transitions are equal if they connect the same states with the same symbol.
  */
 public class Transition {
     public final State left;
@@ -83,4 +85,17 @@ public class Transition {
     public String symbolString() {
         return this.symbol.map(Symbol::toString).orElse("ε");
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Transition other)) return false;
+
+        return left.equals(other.left) && right.equals(other.right) && symbol.equals(other.symbol);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(left, right, symbol);
+    }
 }
@@ -0,0 +1,124 @@
+package de.thm.asc.automata;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of transitions packed into primitive {@code long}s and stored in an open-addressing hash table with linear
+ * probing. Every transition occupies a table slot of 8 bytes instead of a {@link Transition} object. The table is
+ * kept between 3/8 and 3/4 full, so a transition takes about 11 to 21 bytes including the empty slots.
+ * <p>
+ * A packed transition consists of the index of its left state (bits 40 to 62), its symbol (bits 23 to 39, the char
+ * value plus one or zero for epsilon) and the index of its right state (bits 0 to 22).
+ */
+final class TransitionStore {
+    static final int MAX_STATES = 1 << 23;
+
+    private static final long EMPTY = -1;
+    private static final int SYMBOL_BITS = 17;
+    private static final int STATE_BITS = 23;
+    private static final long STATE_MASK = (1L << STATE_BITS) - 1;
+    private static final long SYMBOL_MASK = (1L << SYMBOL_BITS) - 1;
+
+    private long[] table = newTable(16);
+    private int size = 0;
+
+    /**
+     * @param left   The index of the left state.
+     * @param symbol The symbol of the transition or null for an epsilon transition.
+     * @param right  The index of the right state.
+     * @return The packed transition.
+     */
+    static long pack(int left, Symbol symbol, int right) {
+        long code = symbol == null ? 0 : symbol.value() + 1;
+        return (long) left << (SYMBOL_BITS + STATE_BITS) | code << STATE_BITS | right;
+    }
+
+    static int left(long transition) {
+        return (int) (transition >>> (SYMBOL_BITS + STATE_BITS));
+    }
+
+    static int right(long transition) {
+        return (int) (transition & STATE_MASK);
+    }
+
+    /**
+     * @return The symbol of the given packed transition or null if it is an epsilon transition.
+     */
+    static Symbol symbol(long transition) {
+        int code = (int) (transition >>> STATE_BITS & SYMBOL_MASK);
+        return code == 0 ? null : new Symbol((char) (code - 1));
+    }
+
+    /**
+     * @param transition The packed transition to add.
+     * @return Whether the transition was not contained before.
+     */
+    boolean add(long transition) {
+        int slot = find(transition);
+
+        if (table[slot] == transition) {
+            return false;
+        }
+
+        table[slot] = transition;
+        // Grow once the table is more than 3/4 full, linear probing degrades quickly beyond that
+        if (++size * 4L > table.length * 3L) {
+            resize();
+        }
+
+        return true;
+    }
+
+    boolean contains(long transition) {
+        return table[find(transition)] == transition;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(LongConsumer action) {
+        for (var transition : table) {
+            if (transition != EMPTY) {
+                action.accept(transition);
+            }
+        }
+    }
+
+    /**
+     * @return The slot containing the given transition or the empty slot where it would be inserted.
+     */
+    private int find(long transition) {
+        int mask = table.length - 1;
+        int slot = hash(transition) & mask;
+
+        while (table[slot] != EMPTY && table[slot] != transition) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void resize() {
+        var old = table;
+        table = newTable(old.length * 2);
+
+        for (var transition : old) {
+            if (transition != EMPTY) {
+                table[find(transition)] = transition;
+            }
+        }
+    }
+
+    private static long[] newTable(int capacity) {
+        var table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int hash(long transition) {
+        long h = transition * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+}
@@ -116,9 +116,7 @@ public class PowersetConstruction {
                 Set<State> ends = epsilonClosure(move(cur, symbol));
 
                 Transition newTransition = Transition.newSymbolTransition(setToState(cur), setToState(ends), symbol);
-                if (transitions.stream().noneMatch(transition -> transition.left.equals(newTransition.left) && transition.right.equals(newTransition.right) && transition.symbol.equals(newTransition.symbol))) {
-                    transitions.add(newTransition);
-                }
+                transitions.add(newTransition);
 
                 if (completedSupersets.stream().noneMatch(superset -> superset.equals(ends))) {
                     supersetsToView.add(ends);
@@ -135,7 +133,12 @@ public class PowersetConstruction {
         return new FiniteAutomaton(states, nfa.alphabet(), setToState(initialState), finalStates, transitions);
     }
 
+    /**
+     * @param set A set of states.
+     * @return A state named after the given set. Equal sets always result in the same name, regardless of the
+     * iteration order of the set.
+     */
     private State setToState(Set<State> set) {
-        return new State("{" + set.stream().map(state -> state.name()).collect(Collectors.joining()) + "}");
+        return new State("{" + set.stream().map(state -> state.name()).sorted().collect(Collectors.joining(",")) + "}");
     }
 }
@@ -0,0 +1,548 @@
+package de.thm.asc.automata.algorithms;
+
+import de.thm.asc.automata.*;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Reduces the size of a nondeterministic finite automaton without changing its language, which pays off exponentially
+ * in the subsequent {@link PowersetConstruction}.
+ * <p>
+ * The reduction first removes all epsilon transitions and then repeatedly applies the following steps until the
+ * automaton does not shrink anymore:
+ * <ul>
+ *     <li>States that are not reachable from the initial state or from which no final state can be reached are removed.</li>
+ *     <li>States that simulate each other (forward or backward) are merged into a single state.</li>
+ *     <li>A transition {@code p -a-> r} is removed if there is another transition {@code p -a-> r'} where {@code r'}
+ *     strictly forward simulates {@code r}. Symmetrically, {@code r -a-> p} is removed if there is a transition
+ *     {@code r' -a-> p} where {@code r'} strictly backward simulates {@code r}.</li>
+ * </ul>
+ * A state {@code q} forward simulates {@code p} if {@code q} is final whenever {@code p} is and every transition
+ * {@code p -a-> p'} can be answered by a transition {@code q -a-> q'} such that {@code q'} forward simulates {@code p'}.
+ * Backward simulation is defined in the same way using incoming transitions and the initial state.
+ */
+public class SimulationReduction {
+
+    /**
+     * The largest automaton {@link FiniteAutomaton#toDFA()} reduces. Computing the simulations takes time and memory
+     * quadratic in the number of states, which beyond this size costs about as much as the powerset construction of a
+     * nearly deterministic automaton.
+     */
+    public static final int MAX_STATES = 1000;
+
+    /**
+     * The outcome of a reduction.
+     *
+     * @param original The automaton before the reduction.
+     * @param reduced  The reduced automaton.
+     * @param millis   The time spent on the reduction.
+     */
+    public record Reduction(FiniteAutomaton original, FiniteAutomaton reduced, long millis) {
+
+        @Override
+        public String toString() {
+            return String.format("Reduced %d states and %d transitions to %d states and %d transitions in %d ms",
+                    original.states().size(), original.transitions().size(),
+                    reduced.states().size(), reduced.transitions().size(), millis);
+        }
+    }
+
+    public static FiniteAutomaton apply(FiniteAutomaton nfa) {
+        return new SimulationReduction(nfa).construct();
+    }
+
+    /**
+     * Reduces the given automaton and reports the sizes before and after the reduction.
+     *
+     * @param nfa The automaton to reduce.
+     * @return The outcome of the reduction.
+     */
+    public static Reduction reduce(FiniteAutomaton nfa) {
+        long start = System.nanoTime();
+        var reduced = apply(nfa);
+
+        return new Reduction(nfa, reduced, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private final FiniteAutomaton nfa;
+    private final Symbol[] symbols;
+
+    // The initial state always has index 0
+    private State[] states;
+    private boolean[] finalStates;
+    private BitSet[][] successors;
+
+    private SimulationReduction(FiniteAutomaton nfa) {
+        this.nfa = nfa;
+        this.symbols = nfa.alphabet().toArray(new Symbol[0]);
+    }
+
+    /**
+     * Apply the reduction to the automaton supplied in the constructor of this class.
+     * @return The reduced automaton without epsilon transitions.
+     */
+    private FiniteAutomaton construct() {
+        removeEpsilonTransitions();
+
+        int size = states.length + transitionCount();
+        while (true) {
+            trim();
+            var forward = forwardSimulation();
+            // The relation only has to be recomputed if merging changed the states
+            if (quotient(forward)) {
+                forward = forwardSimulation();
+            }
+            pruneForward(forward);
+            trim();
+
+            var predecessors = predecessors();
+            var backward = backwardSimulation(predecessors);
+            if (quotient(backward)) {
+                predecessors = predecessors();
+                backward = backwardSimulation(predecessors);
+            }
+            pruneBackward(predecessors, backward);
+            trim();
+
+            // Stop after the first round that removed nothing
+            int reduced = states.length + transitionCount();
+            if (reduced == size) {
+                return result();
+            }
+            size = reduced;
+        }
+    }
+
+    /**
+     * @return The forward simulation relation, in which only final states may simulate final states.
+     */
+    private BitSet[] forwardSimulation() {
+        var finals = new BitSet(states.length);
+        for (int p = 0; p < states.length; p++) {
+            if (finalStates[p]) {
+                finals.set(p);
+            }
+        }
+
+        return simulation(successors, p -> finalStates[p], finals);
+    }
+
+    /**
+     * @param predecessors The predecessors of every state indexed by state and symbol.
+     * @return The backward simulation relation, in which only the initial state may simulate the initial state.
+     */
+    private BitSet[] backwardSimulation(BitSet[][] predecessors) {
+        var initial = new BitSet(states.length);
+        initial.set(0);
+
+        return simulation(predecessors, p -> p == 0, initial);
+    }
+
+    /**
+     * Indexes the states of the automaton and replaces every sequence of epsilon transitions followed by a symbol
+     * transition by a single symbol transition. A state becomes final if a final state is reachable from it using
+     * epsilon transitions only.
+     */
+    private void removeEpsilonTransitions() {
+        List<State> order = new ArrayList<>();
+        order.add(nfa.initialState());
+        nfa.states().stream().filter(s -> !s.equals(nfa.initialState())).forEach(order::add);
+
+        Map<State, Integer> stateIndex = new HashMap<>();
+        order.forEach(s -> stateIndex.put(s, stateIndex.size()));
+
+        Map<Symbol, Integer> symbolIndex = new HashMap<>();
+        for (var symbol : symbols) {
+            symbolIndex.put(symbol, symbolIndex.size());
+        }
+
+        int n = order.size();
+        var epsilon = new BitSet[n];
+        var direct = new BitSet[n][symbols.length];
+        for (int p = 0; p < n; p++) {
+            epsilon[p] = new BitSet(n);
+            epsilon[p].set(p);
+            for (int a = 0; a < symbols.length; a++) {
+                direct[p][a] = new BitSet(n);
+            }
+        }
+
+        for (var t : nfa.transitions()) {
+            int left = stateIndex.get(t.left), right = stateIndex.get(t.right);
+
+            if (t.isEpsilonTransition()) {
+                epsilon[left].set(right);
+            } else {
+                direct[left][symbolIndex.get(t.symbol())].set(right);
+            }
+        }
+
+        // Close the epsilon relation transitively
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int p = 0; p < n; p++) {
+                var closure = (BitSet) epsilon[p].clone();
+                for (int q = epsilon[p].nextSetBit(0); q >= 0; q = epsilon[p].nextSetBit(q + 1)) {
+                    closure.or(epsilon[q]);
+                }
+                if (!closure.equals(epsilon[p])) {
+                    epsilon[p] = closure;
+                    changed = true;
+                }
+            }
+        }
+
+        states = order.toArray(new State[0]);
+        finalStates = new boolean[n];
+        successors = new BitSet[n][symbols.length];
+
+        for (int p = 0; p < n; p++) {
+            for (int a = 0; a < symbols.length; a++) {
+                successors[p][a] = new BitSet(n);
+            }
+            for (int q = epsilon[p].nextSetBit(0); q >= 0; q = epsilon[p].nextSetBit(q + 1)) {
+                finalStates[p] |= nfa.finalStates().contains(states[q]);
+                for (int a = 0; a < symbols.length; a++) {
+                    successors[p][a].or(direct[q][a]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all states that are unreachable or from which no final state can be reached.
+     * The initial state is always kept.
+     */
+    private void trim() {
+        int n = states.length;
+
+        var reachable = new BitSet(n);
+        Deque<Integer> queue = new ArrayDeque<>(List.of(0));
+        reachable.set(0);
+        while (!queue.isEmpty()) {
+            int p = queue.remove();
+            for (var targets : successors[p]) {
+                for (int q = targets.nextSetBit(0); q >= 0; q = targets.nextSetBit(q + 1)) {
+                    if (!reachable.get(q)) {
+                        reachable.set(q);
+                        queue.add(q);
+                    }
+                }
+            }
+        }
+
+        var predecessors = predecessors();
+        var coreachable = new BitSet(n);
+        for (int p = 0; p < n; p++) {
+            if (finalStates[p]) {
+                coreachable.set(p);
+                queue.add(p);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int p = queue.remove();
+            for (var sources : predecessors[p]) {
+                for (int q = sources.nextSetBit(0); q >= 0; q = sources.nextSetBit(q + 1)) {
+                    if (!coreachable.get(q)) {
+                        coreachable.set(q);
+                        queue.add(q);
+                    }
+                }
+            }
+        }
+
+        reachable.and(coreachable);
+        reachable.set(0);
+
+        var mapping = new int[n];
+        int next = 0;
+        for (int p = 0; p < n; p++) {
+            mapping[p] = reachable.get(p) ? next++ : -1;
+        }
+
+        rebuild(mapping, next);
+    }
+
+    /**
+     * Computes the greatest simulation relation over the given edges.
+     * <p>
+     * Every pair is checked once up front. Afterwards, only the pairs that may depend on a removed pair are checked
+     * again: removing {@code (r, s)} can only invalidate {@code (p, q)} if {@code p -a-> r} and {@code q -a-> s} for
+     * some symbol {@code a}. This avoids rescanning the whole relation in every round, which takes quadratically many
+     * rounds on long chains.
+     *
+     * @param edges      The edges to simulate, indexed by state and symbol.
+     * @param restricted The states that may only be simulated by the {@code allowed} states. All other states may
+     *                   initially be simulated by every state.
+     * @param allowed    The states that may simulate the restricted states.
+     * @return For every state {@code p}, the set of states simulating {@code p}.
+     */
+    private BitSet[] simulation(BitSet[][] edges, IntPredicate restricted, BitSet allowed) {
+        int n = states.length;
+        var relation = new BitSet[n];
+        var reverse = reverse(edges);
+
+        for (int p = 0; p < n; p++) {
+            if (restricted.test(p)) {
+                relation[p] = (BitSet) allowed.clone();
+            } else {
+                relation[p] = new BitSet(n);
+                relation[p].set(0, n);
+            }
+        }
+
+        // The removed pairs whose dependents have not been checked yet, encoded as p * n + q
+        var removed = new long[64];
+        int count = 0;
+        var affected = new BitSet(n);
+
+        for (int p = 0; p < n; p++) {
+            for (int q = relation[p].nextSetBit(0); q >= 0; q = relation[p].nextSetBit(q + 1)) {
+                if (!simulates(edges, relation, p, q)) {
+                    relation[p].clear(q);
+                    if (count == removed.length) removed = Arrays.copyOf(removed, count * 2);
+                    removed[count++] = (long) p * n + q;
+                }
+            }
+        }
+
+        while (count > 0) {
+            long pair = removed[--count];
+            int r = (int) (pair / n), s = (int) (pair % n);
+
+            for (int a = 0; a < symbols.length; a++) {
+                var sources = reverse[r][a];
+                var candidates = reverse[s][a];
+                if (sources.isEmpty() || candidates.isEmpty()) continue;
+
+                for (int p = sources.nextSetBit(0); p >= 0; p = sources.nextSetBit(p + 1)) {
+                    affected.clear();
+                    affected.or(candidates);
+                    affected.and(relation[p]);
+
+                    for (int q = affected.nextSetBit(0); q >= 0; q = affected.nextSetBit(q + 1)) {
+                        // q -a-> s no longer answers p -a-> r, so q needs another a-successor simulating r
+                        if (!edges[q][a].intersects(relation[r])) {
+                            relation[p].clear(q);
+                            if (count == removed.length) removed = Arrays.copyOf(removed, count * 2);
+                            removed[count++] = (long) p * n + q;
+                        }
+                    }
+                }
+            }
+        }
+
+        return relation;
+    }
+
+    /**
+     * @param edges The edges indexed by state and symbol.
+     * @return The reversed edges indexed by state and symbol.
+     */
+    private BitSet[][] reverse(BitSet[][] edges) {
+        int n = states.length;
+        var reverse = new BitSet[n][symbols.length];
+
+        for (int p = 0; p < n; p++) {
+            for (int a = 0; a < symbols.length; a++) {
+                reverse[p][a] = new BitSet(n);
+            }
+        }
+
+        for (int p = 0; p < n; p++) {
+            for (int a = 0; a < symbols.length; a++) {
+                var targets = edges[p][a];
+                for (int q = targets.nextSetBit(0); q >= 0; q = targets.nextSetBit(q + 1)) {
+                    reverse[q][a].set(p);
+                }
+            }
+        }
+
+        return reverse;
+    }
+
+    /**
+     * @return Whether every edge of {@code p} can be answered by an edge of {@code q} with the same symbol leading to
+     * a state that simulates the target of the edge of {@code p}.
+     */
+    private boolean simulates(BitSet[][] edges, BitSet[] relation, int p, int q) {
+        for (int a = 0; a < symbols.length; a++) {
+            var targets = edges[p][a];
+            for (int r = targets.nextSetBit(0); r >= 0; r = targets.nextSetBit(r + 1)) {
+                if (!edges[q][a].intersects(relation[r])) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Merges all states that simulate each other.
+     *
+     * @param relation The simulation relation to use.
+     * @return Whether any states were merged.
+     */
+    private boolean quotient(BitSet[] relation) {
+        int n = states.length;
+        var mapping = new int[n];
+        Arrays.fill(mapping, -1);
+
+        int next = 0;
+        for (int p = 0; p < n; p++) {
+            if (mapping[p] != -1) continue;
+
+            mapping[p] = next;
+            for (int q = relation[p].nextSetBit(p + 1); q >= 0; q = relation[p].nextSetBit(q + 1)) {
+                if (mapping[q] == -1 && relation[q].get(p)) {
+                    mapping[q] = next;
+                }
+            }
+            next++;
+        }
+
+        if (next == n) {
+            return false;
+        }
+
+        rebuild(mapping, next);
+        return true;
+    }
+
+    /**
+     * Removes every transition {@code p -a-> r} for which a transition {@code p -a-> r'} exists such that {@code r'}
+     * strictly simulates {@code r}.
+     *
+     * @param relation The forward simulation relation.
+     */
+    private void pruneForward(BitSet[] relation) {
+        for (var row : successors) {
+            for (var targets : row) {
+                var dominated = new BitSet();
+                for (int r = targets.nextSetBit(0); r >= 0; r = targets.nextSetBit(r + 1)) {
+                    if (hasStrictlyGreater(relation, targets, r)) {
+                        dominated.set(r);
+                    }
+                }
+                targets.andNot(dominated);
+            }
+        }
+    }
+
+    /**
+     * Removes every transition {@code r -a-> p} for which a transition {@code r' -a-> p} exists such that {@code r'}
+     * strictly simulates {@code r}.
+     *
+     * @param predecessors The predecessors of every state indexed by state and symbol.
+     * @param relation     The backward simulation relation.
+     */
+    private void pruneBackward(BitSet[][] predecessors, BitSet[] relation) {
+        for (int p = 0; p < states.length; p++) {
+            for (int a = 0; a < symbols.length; a++) {
+                var sources = predecessors[p][a];
+                for (int r = sources.nextSetBit(0); r >= 0; r = sources.nextSetBit(r + 1)) {
+                    if (hasStrictlyGreater(relation, sources, r)) {
+                        successors[r][a].clear(p);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether the given set contains a state that strictly simulates {@code r}.
+     */
+    private boolean hasStrictlyGreater(BitSet[] relation, BitSet candidates, int r) {
+        for (int s = candidates.nextSetBit(0); s >= 0; s = candidates.nextSetBit(s + 1)) {
+            if (s != r && relation[r].get(s) && !relation[s].get(r)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Replaces the current states by the given mapping. The initial state must be mapped to index 0.
+     *
+     * @param mapping The new index of every state or -1 if the state is removed.
+     * @param size    The number of new states.
+     */
+    private void rebuild(int[] mapping, int size) {
+        var newStates = new State[size];
+        var newFinalStates = new boolean[size];
+        var newSuccessors = new BitSet[size][symbols.length];
+
+        for (int p = 0; p < size; p++) {
+            for (int a = 0; a < symbols.length; a++) {
+                newSuccessors[p][a] = new BitSet(size);
+            }
+        }
+
+        for (int p = 0; p < states.length; p++) {
+            int np = mapping[p];
+            if (np == -1) continue;
+
+            if (newStates[np] == null) {
+                newStates[np] = states[p];
+            }
+            newFinalStates[np] |= finalStates[p];
+
+            for (int a = 0; a < symbols.length; a++) {
+                var targets = successors[p][a];
+                for (int q = targets.nextSetBit(0); q >= 0; q = targets.nextSetBit(q + 1)) {
+                    if (mapping[q] != -1) {
+                        newSuccessors[np][a].set(mapping[q]);
+                    }
+                }
+            }
+        }
+
+        states = newStates;
+        finalStates = newFinalStates;
+        successors = newSuccessors;
+    }
+
+    /**
+     * @return The predecessors of every state indexed by state and symbol.
+     */
+    private BitSet[][] predecessors() {
+        return reverse(successors);
+    }
+
+    private int transitionCount() {
+        int count = 0;
+
+        for (var row : successors) {
+            for (var targets : row) {
+                count += targets.cardinality();
+            }
+        }
+
+        return count;
+    }
+
+    private FiniteAutomaton result() {
+        Set<State> resultStates = new HashSet<>(Arrays.asList(states));
+        Set<State> resultFinalStates = new HashSet<>();
+        Set<Transition> transitions = new HashSet<>();
+
+        for (int p = 0; p < states.length; p++) {
+            if (finalStates[p]) {
+                resultFinalStates.add(states[p]);
+            }
+
+            for (int a = 0; a < symbols.length; a++) {
+                var targets = successors[p][a];
+                for (int q = targets.nextSetBit(0); q >= 0; q = targets.nextSetBit(q + 1)) {
+                    transitions.add(Transition.newSymbolTransition(states[p], states[q], symbols[a]));
+                }
+            }
+        }
+
+        return new FiniteAutomaton(resultStates, nfa.alphabet(), states[0], resultFinalStates, transitions);
+    }
+}
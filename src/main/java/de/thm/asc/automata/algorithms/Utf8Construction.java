@@ -0,0 +1,115 @@
+package de.thm.asc.automata.algorithms;
+
+import de.thm.asc.automata.*;
+
+import java.util.*;
+
+/**
+ * Translates an automaton over UTF-16 chars into an equivalent deterministic automaton over UTF-8 bytes.
+ * Every byte is represented by a {@link Symbol} whose value lies in the range {@code 0x00} to {@code 0xFF}.
+ * <p>
+ * Each transition of the deterministic source automaton is replaced by a chain of transitions, one for every byte of
+ * the UTF-8 encoding of its symbol. Chains leaving the same state share their common prefixes, and since UTF-8 is a
+ * prefix-free code, the result is deterministic again. A surrogate pair (a high surrogate transition followed by a
+ * low surrogate transition) is encoded as the four bytes of the supplementary code point it denotes. Lone surrogates
+ * cannot appear in well-formed UTF-8 and are therefore dropped.
+ */
+public class Utf8Construction {
+    public static FiniteAutomaton apply(FiniteAutomaton automaton) {
+        return new Utf8Construction(automaton.toDFA()).construct();
+    }
+
+    private final FiniteAutomaton dfa;
+    private final FiniteAutomatonBuilder builder = new FiniteAutomatonBuilder();
+
+    private Utf8Construction(FiniteAutomaton dfa) {
+        this.dfa = dfa;
+    }
+
+    /**
+     * Apply the construction to the automaton supplied in the constructor of this class.
+     * @return The equivalent deterministic automaton over UTF-8 bytes.
+     */
+    private FiniteAutomaton construct() {
+        builder.addStates(dfa.states());
+        builder.setInitialState(dfa.initialState());
+        dfa.finalStates().forEach(builder::makeFinalState);
+
+        for (var state : dfa.states()) {
+            // The byte trie rooted in this state, indexed by the state at which a byte is read
+            Map<State, Map<Integer, State>> trie = new HashMap<>();
+
+            for (var t : dfa.getTransitions(state)) {
+                char c = t.symbol().value();
+
+                if (Character.isHighSurrogate(c)) {
+                    for (var low : dfa.getTransitions(t.right)) {
+                        char l = low.symbol().value();
+
+                        if (Character.isLowSurrogate(l)) {
+                            addPath(trie, state, encode(Character.toCodePoint(c, l)), low.right);
+                        }
+                    }
+                } else if (!Character.isLowSurrogate(c)) {
+                    addPath(trie, state, encode(c), t.right);
+                }
+            }
+        }
+
+        return builder.result();
+    }
+
+    /**
+     * Adds the transitions reading the given bytes from the given state, reusing already existing prefixes.
+     *
+     * @param trie   The byte trie rooted in the given state.
+     * @param from   The state to start from.
+     * @param bytes  The bytes to read.
+     * @param target The state to end in after the last byte.
+     */
+    private void addPath(Map<State, Map<Integer, State>> trie, State from, byte[] bytes, State target) {
+        var current = from;
+
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xFF;
+            var children = trie.computeIfAbsent(current, k -> new HashMap<>());
+            var next = children.get(b);
+
+            if (next == null) {
+                next = i == bytes.length - 1 ? target : builder.newState("u");
+                children.put(b, next);
+                builder.addTransition(Transition.newSymbolTransition(current, next, new Symbol((char) b)));
+            }
+
+            current = next;
+        }
+    }
+
+    /**
+     * @param codePoint A unicode code point.
+     * @return The UTF-8 encoding of the given code point.
+     */
+    private static byte[] encode(int codePoint) {
+        if (codePoint < 0x80) {
+            return new byte[]{(byte) codePoint};
+        } else if (codePoint < 0x800) {
+            return new byte[]{
+                    (byte) (0xC0 | codePoint >> 6),
+                    (byte) (0x80 | codePoint & 0x3F)
+            };
+        } else if (codePoint < 0x10000) {
+            return new byte[]{
+                    (byte) (0xE0 | codePoint >> 12),
+                    (byte) (0x80 | codePoint >> 6 & 0x3F),
+                    (byte) (0x80 | codePoint & 0x3F)
+            };
+        } else {
+            return new byte[]{
+                    (byte) (0xF0 | codePoint >> 18),
+                    (byte) (0x80 | codePoint >> 12 & 0x3F),
+                    (byte) (0x80 | codePoint >> 6 & 0x3F),
+                    (byte) (0x80 | codePoint & 0x3F)
+            };
+        }
+    }
+}
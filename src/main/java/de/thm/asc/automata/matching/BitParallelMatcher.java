@@ -0,0 +1,107 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+
+import java.util.BitSet;
+
+/**
+ * Simulates a nondeterministic automaton with at most 64 states without determinizing it. The set of active states
+ * is kept in a single {@code long}, which is split into bytes of eight states each. For every byte position and
+ * every possible value of that byte, the union of the successors of the states it contains is precomputed, including
+ * all epsilon transitions. A step therefore costs one table lookup and OR per byte, regardless of how many states are
+ * active.
+ * <p>
+ * The tables take 2 KB per byte of states and symbol class, i.e. at most 16 KB per class. Symbols leading to the same
+ * successors from every state share their tables.
+ * <p>
+ * Automata with up to {@link WideBitParallelMatcher#MAX_STATES} states are handled by the {@link WideBitParallelMatcher}.
+ */
+public class BitParallelMatcher implements Matcher {
+    public static final int MAX_STATES = Long.SIZE;
+
+    private static final int CHUNK_BITS = 8;
+    private static final int CHUNK_VALUES = 1 << CHUNK_BITS;
+
+    private final SymbolIndex symbols;
+    private final int[] symbolClasses;
+    private final int chunks;
+    private final long initialStates;
+    private final long finalStates;
+
+    // Indexed by (symbol class * chunks + chunk) * 256 + value of the chunk
+    private final long[] successors;
+
+    private BitParallelMatcher(SymbolIndex symbols, int[] symbolClasses, int chunks, long initialStates,
+                               long finalStates, long[] successors) {
+        this.symbols = symbols;
+        this.symbolClasses = symbolClasses;
+        this.chunks = chunks;
+        this.initialStates = initialStates;
+        this.finalStates = finalStates;
+        this.successors = successors;
+    }
+
+    /**
+     * Compiles the given automaton into a bit-parallel matcher.
+     *
+     * @param automaton An automaton with at most {@link #MAX_STATES} states.
+     * @return The compiled matcher.
+     */
+    public static BitParallelMatcher compile(FiniteAutomaton automaton) {
+        if (automaton.states().size() > MAX_STATES) {
+            throw new IllegalArgumentException(String.format("Automaton has more than %d states", MAX_STATES));
+        }
+
+        var nfa = new IndexedNfa(automaton);
+        int chunks = Math.max(1, (nfa.size + CHUNK_BITS - 1) / CHUNK_BITS);
+        var successors = new long[nfa.classCount * chunks * CHUNK_VALUES];
+
+        for (int k = 0; k < nfa.classCount; k++) {
+            var targets = nfa.successors(k);
+
+            for (int c = 0; c < chunks; c++) {
+                int base = (k * chunks + c) * CHUNK_VALUES;
+
+                // Every value is the value without its lowest state plus the successors of that state
+                for (int v = 1; v < CHUNK_VALUES; v++) {
+                    int state = c * CHUNK_BITS + Integer.numberOfTrailingZeros(v);
+                    long lowest = state < nfa.size ? mask(targets[state]) : 0;
+                    successors[base + v] = successors[base + (v & v - 1)] | lowest;
+                }
+            }
+        }
+
+        return new BitParallelMatcher(nfa.symbols, nfa.symbolClasses, chunks, mask(nfa.initialStates),
+                mask(nfa.finalStates), successors);
+    }
+
+    private static long mask(BitSet set) {
+        var words = set.toLongArray();
+        return words.length == 0 ? 0 : words[0];
+    }
+
+    @Override
+    public boolean test(CharSequence input) {
+        long active = initialStates;
+
+        for (int i = 0; i < input.length(); i++) {
+            int a = symbols.indexOf(input.charAt(i));
+            if (a < 0) {
+                return false;
+            }
+
+            int base = symbolClasses[a] * chunks * CHUNK_VALUES;
+            long next = 0;
+            for (int c = 0; c < chunks; c++) {
+                next |= successors[base + (c << CHUNK_BITS) + (int) (active >>> c * CHUNK_BITS & CHUNK_VALUES - 1)];
+            }
+
+            if (next == 0) {
+                return false;
+            }
+            active = next;
+        }
+
+        return (active & finalStates) != 0;
+    }
+}
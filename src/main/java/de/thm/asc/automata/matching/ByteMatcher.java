@@ -0,0 +1,114 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.State;
+import de.thm.asc.automata.algorithms.Utf8Construction;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matches UTF-8 encoded input against an automaton without decoding it first.
+ * The automaton is translated by the {@link Utf8Construction} and stored as a dense transition table with one row of
+ * 256 entries per state, so every input byte costs exactly one table lookup.
+ * <p>
+ * Like in the {@link DfaMatcher}, states from which no final state can be reached are replaced by the implicit dead
+ * state, so rejected input is only read until it can no longer be accepted.
+ */
+public class ByteMatcher {
+    private static final int DEAD = DfaMatcher.DEAD;
+
+    private final int[] table;
+    private final boolean[] accepting;
+    private final int initialState;
+
+    private ByteMatcher(int[] table, boolean[] accepting, int initialState) {
+        this.table = table;
+        this.accepting = accepting;
+        this.initialState = initialState;
+    }
+
+    /**
+     * Compiles the given automaton into a matcher for UTF-8 encoded input.
+     *
+     * @param automaton An automaton over UTF-16 chars.
+     * @return The compiled matcher.
+     */
+    public static ByteMatcher compile(FiniteAutomaton automaton) {
+        var utf8 = Utf8Construction.apply(automaton);
+
+        Map<State, Integer> index = new HashMap<>();
+        utf8.states().forEach(s -> index.put(s, index.size()));
+
+        var table = new int[index.size() * 256];
+        Arrays.fill(table, DEAD);
+
+        var accepting = new boolean[index.size()];
+        utf8.finalStates().forEach(s -> accepting[index.get(s)] = true);
+
+        for (var t : utf8.transitions()) {
+            table[index.get(t.left) * 256 + t.symbol().value()] = index.get(t.right);
+        }
+
+        var coaccessible = DfaMatcher.coaccessible(table, accepting, 256);
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != DEAD && !coaccessible[table[i]]) {
+                table[i] = DEAD;
+            }
+        }
+
+        int initialState = index.get(utf8.initialState());
+
+        return new ByteMatcher(table, accepting, coaccessible[initialState] ? initialState : DEAD);
+    }
+
+    /**
+     * Tests whether the given UTF-8 encoded input is accepted.
+     *
+     * @param input The UTF-8 encoded input.
+     * @return Whether the input is accepted.
+     */
+    public boolean test(byte[] input) {
+        return test(input, 0, input.length);
+    }
+
+    /**
+     * Tests whether the given range of a UTF-8 encoded input is accepted.
+     *
+     * @param input  The UTF-8 encoded input.
+     * @param offset The index of the first byte to read.
+     * @param length The number of bytes to read.
+     * @return Whether the range is accepted.
+     */
+    public boolean test(byte[] input, int offset, int length) {
+        int state = initialState;
+
+        for (int i = offset, end = offset + length; i < end && state != DEAD; i++) {
+            state = table[state << 8 | input[i] & 0xFF];
+        }
+
+        return state != DEAD && accepting[state];
+    }
+
+    /**
+     * Tests whether the remaining bytes of the given buffer are accepted. The position of the buffer is not changed.
+     *
+     * @param input The buffer containing the UTF-8 encoded input.
+     * @return Whether the remaining bytes are accepted.
+     */
+    public boolean test(ByteBuffer input) {
+        if (input.hasArray()) {
+            return test(input.array(), input.arrayOffset() + input.position(), input.remaining());
+        }
+
+        int state = initialState;
+
+        for (int i = input.position(), end = input.limit(); i < end && state != DEAD; i++) {
+            state = table[state << 8 | input.get(i) & 0xFF];
+        }
+
+        return state != DEAD && accepting[state];
+    }
+}
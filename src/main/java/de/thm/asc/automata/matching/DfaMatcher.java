@@ -0,0 +1,161 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.State;
+
+import java.util.*;
+
+/**
+ * Matches input against a deterministic automaton stored as a dense transition table with one row per state and one
+ * column per symbol, so every input character costs a single table lookup.
+ * <p>
+ * States from which no final state can be reached are replaced by the implicit dead state while compiling. Matching
+ * therefore stops as soon as the input can no longer be accepted, and a {@link MatcherCursor} can tell this apart from
+ * an input that is merely not accepted yet.
+ */
+public class DfaMatcher implements Matcher {
+    static final int DEAD = -1;
+
+    final SymbolIndex symbols;
+
+    // The initial state or DEAD if the automaton accepts no words at all
+    final int initialState;
+    private final int[] table;
+    private final boolean[] accepting;
+
+    private DfaMatcher(SymbolIndex symbols, int[] table, boolean[] accepting, int initialState) {
+        this.symbols = symbols;
+        this.table = table;
+        this.accepting = accepting;
+        this.initialState = initialState;
+    }
+
+    /**
+     * Compiles the given deterministic automaton into a matcher.
+     *
+     * @param dfa A deterministic automaton.
+     * @return The compiled matcher.
+     */
+    public static DfaMatcher compile(FiniteAutomaton dfa) {
+        if (!dfa.isDeterministic()) {
+            throw new IllegalArgumentException("Automaton is not deterministic");
+        }
+
+        var symbols = new SymbolIndex(dfa.alphabet());
+
+        Map<State, Integer> index = new HashMap<>();
+        dfa.states().forEach(s -> index.put(s, index.size()));
+
+        var table = new int[index.size() * symbols.size()];
+        Arrays.fill(table, DEAD);
+
+        var accepting = new boolean[index.size()];
+        dfa.finalStates().forEach(s -> accepting[index.get(s)] = true);
+
+        for (var t : dfa.transitions()) {
+            table[index.get(t.left) * symbols.size() + symbols.indexOf(t.symbol().value())] = index.get(t.right);
+        }
+
+        var coaccessible = coaccessible(table, accepting, symbols.size());
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != DEAD && !coaccessible[table[i]]) {
+                table[i] = DEAD;
+            }
+        }
+
+        int initialState = index.get(dfa.initialState());
+
+        return new DfaMatcher(symbols, table, accepting, coaccessible[initialState] ? initialState : DEAD);
+    }
+
+    /**
+     * @return For every state, whether an accepting state can be reached from it.
+     */
+    static boolean[] coaccessible(int[] table, boolean[] accepting, int columns) {
+        int n = accepting.length;
+
+        // Collect the predecessors of every state as linked lists stored in arrays
+        var head = new int[n];
+        var nextEdge = new int[table.length];
+        Arrays.fill(head, -1);
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != DEAD) {
+                nextEdge[i] = head[table[i]];
+                head[table[i]] = i;
+            }
+        }
+
+        var result = new boolean[n];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int s = 0; s < n; s++) {
+            if (accepting[s]) {
+                result[s] = true;
+                queue.add(s);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            for (int edge = head[queue.remove()]; edge != -1; edge = nextEdge[edge]) {
+                int source = edge / columns;
+                if (!result[source]) {
+                    result[source] = true;
+                    queue.add(source);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return A new cursor positioned at the start of the input.
+     */
+    public MatcherCursor cursor() {
+        return new MatcherCursor(this);
+    }
+
+    /**
+     * @param state  The current state, must not be {@link #DEAD}.
+     * @param symbol The character to read.
+     * @return The next state or {@link #DEAD} if the input can no longer be accepted.
+     */
+    int next(int state, char symbol) {
+        int a = symbols.indexOf(symbol);
+        return a < 0 ? DEAD : step(state, a);
+    }
+
+    /**
+     * @param state  The current state, must not be {@link #DEAD}.
+     * @param symbol The index of the symbol to read.
+     * @return The next state or {@link #DEAD} if the input can no longer be accepted.
+     */
+    int step(int state, int symbol) {
+        return table[state * symbols.size() + symbol];
+    }
+
+    /**
+     * @param state A state or {@link #DEAD}.
+     * @return Whether the given state is accepting.
+     */
+    boolean isAccepting(int state) {
+        return state != DEAD && accepting[state];
+    }
+
+    /**
+     * @return The number of states, which are numbered from 0.
+     */
+    int size() {
+        return accepting.length;
+    }
+
+    @Override
+    public boolean test(CharSequence input) {
+        int state = initialState;
+
+        for (int i = 0; i < input.length() && state != DEAD; i++) {
+            state = next(state, input.charAt(i));
+        }
+
+        return isAccepting(state);
+    }
+}
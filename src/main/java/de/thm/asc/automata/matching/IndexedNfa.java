@@ -0,0 +1,121 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.State;
+
+import java.util.*;
+
+/**
+ * An automaton whose states and symbols are replaced by indices. Epsilon transitions are folded into the initial
+ * states and successors, so a step of the simulation never has to follow them explicitly.
+ */
+final class IndexedNfa {
+    final int size;
+    final SymbolIndex symbols;
+    final BitSet initialStates;
+    final BitSet finalStates;
+
+    /**
+     * The epsilon closed successors of every state, indexed by symbol and state.
+     */
+    final BitSet[][] successors;
+
+    /**
+     * The class of every symbol. Symbols leading from every state to the same successors share a class, so tables
+     * derived from the successors only need to be built once per class.
+     */
+    final int[] symbolClasses;
+    final int classCount;
+
+    IndexedNfa(FiniteAutomaton automaton) {
+        Map<State, Integer> index = new HashMap<>();
+        automaton.states().forEach(s -> index.put(s, index.size()));
+
+        this.size = index.size();
+        this.symbols = new SymbolIndex(automaton.alphabet());
+
+        var epsilon = new BitSet[size];
+        var direct = new BitSet[symbols.size()][size];
+        for (int p = 0; p < size; p++) {
+            epsilon[p] = new BitSet(size);
+            for (int a = 0; a < symbols.size(); a++) {
+                direct[a][p] = new BitSet(size);
+            }
+        }
+
+        for (var t : automaton.transitions()) {
+            int left = index.get(t.left), right = index.get(t.right);
+
+            if (t.isEpsilonTransition()) {
+                epsilon[left].set(right);
+            } else {
+                direct[symbols.indexOf(t.symbol().value())][left].set(right);
+            }
+        }
+
+        var closures = new BitSet[size];
+        for (int p = 0; p < size; p++) {
+            closures[p] = closure(epsilon, p);
+        }
+
+        this.initialStates = closures[index.get(automaton.initialState())];
+
+        this.finalStates = new BitSet(size);
+        automaton.finalStates().forEach(s -> finalStates.set(index.get(s)));
+
+        this.successors = new BitSet[symbols.size()][size];
+        for (int a = 0; a < symbols.size(); a++) {
+            for (int p = 0; p < size; p++) {
+                var targets = new BitSet(size);
+                for (int q = direct[a][p].nextSetBit(0); q >= 0; q = direct[a][p].nextSetBit(q + 1)) {
+                    targets.or(closures[q]);
+                }
+                successors[a][p] = targets;
+            }
+        }
+
+        Map<List<BitSet>, Integer> classes = new HashMap<>();
+        this.symbolClasses = new int[symbols.size()];
+        for (int a = 0; a < symbols.size(); a++) {
+            symbolClasses[a] = classes.computeIfAbsent(List.of(successors[a]), k -> classes.size());
+        }
+        this.classCount = classes.size();
+    }
+
+    /**
+     * @param symbolClass A symbol class.
+     * @return The successors of every state for the symbols of the given class.
+     */
+    BitSet[] successors(int symbolClass) {
+        for (int a = 0; a < symbolClasses.length; a++) {
+            if (symbolClasses[a] == symbolClass) {
+                return successors[a];
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Unknown symbol class %d", symbolClass));
+    }
+
+    /**
+     * @return The states reachable from the given state using epsilon transitions only, including the state itself.
+     */
+    private static BitSet closure(BitSet[] epsilon, int state) {
+        var result = new BitSet(epsilon.length);
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        result.set(state);
+        queue.add(state);
+
+        while (!queue.isEmpty()) {
+            var cur = epsilon[queue.remove()];
+            for (int q = cur.nextSetBit(0); q >= 0; q = cur.nextSetBit(q + 1)) {
+                if (!result.get(q)) {
+                    result.set(q);
+                    queue.add(q);
+                }
+            }
+        }
+
+        return result;
+    }
+}
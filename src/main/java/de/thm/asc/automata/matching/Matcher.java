@@ -0,0 +1,15 @@
+package de.thm.asc.automata.matching;
+
+/**
+ * A compiled form of an automaton that decides whether it accepts a given input.
+ */
+public interface Matcher {
+
+    /**
+     * Tests whether the given input is accepted.
+     *
+     * @param input The string of symbols to be tested.
+     * @return Whether the input is accepted.
+     */
+    boolean test(CharSequence input);
+}
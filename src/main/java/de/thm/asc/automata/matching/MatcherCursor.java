@@ -0,0 +1,107 @@
+package de.thm.asc.automata.matching;
+
+/**
+ * A position within the input of a {@link DfaMatcher}, which can be advanced one character at a time. This allows
+ * validating input while it is typed without matching the whole input again after every character.
+ * <p>
+ * Feeding a character costs a single table lookup and does not allocate. Snapshots are plain {@code int}s, so
+ * backtracking to an earlier position, e.g. after deleting characters, is just as cheap.
+ */
+public final class MatcherCursor {
+    private final DfaMatcher matcher;
+    private int state;
+
+    MatcherCursor(DfaMatcher matcher) {
+        this.matcher = matcher;
+        this.state = matcher.initialState;
+    }
+
+    private MatcherCursor(DfaMatcher matcher, int state) {
+        this.matcher = matcher;
+        this.state = state;
+    }
+
+    /**
+     * Advances this cursor by the given character.
+     *
+     * @param c The next character of the input.
+     * @return This cursor.
+     */
+    public MatcherCursor feed(char c) {
+        if (state != DfaMatcher.DEAD) {
+            state = matcher.next(state, c);
+        }
+
+        return this;
+    }
+
+    /**
+     * Advances this cursor by all characters of the given string.
+     *
+     * @param s The next characters of the input.
+     * @return This cursor.
+     */
+    public MatcherCursor feed(CharSequence s) {
+        for (int i = 0; i < s.length() && state != DfaMatcher.DEAD; i++) {
+            state = matcher.next(state, s.charAt(i));
+        }
+
+        return this;
+    }
+
+    /**
+     * @return Whether the input fed so far is accepted.
+     */
+    public boolean isAccepting() {
+        return matcher.isAccepting(state);
+    }
+
+    /**
+     * @return Whether the input fed so far can no longer be accepted, no matter which characters follow.
+     */
+    public boolean isDead() {
+        return state == DfaMatcher.DEAD;
+    }
+
+    /**
+     * @return The negation of {@link #isDead()}.
+     */
+    public boolean canStillAccept() {
+        return state != DfaMatcher.DEAD;
+    }
+
+    /**
+     * @return A snapshot of the current position, which can be passed to {@link #restore(int)}.
+     */
+    public int snapshot() {
+        return state;
+    }
+
+    /**
+     * Moves this cursor back to a position saved earlier.
+     *
+     * @param snapshot A snapshot taken from a cursor of the same matcher.
+     * @throws IllegalArgumentException Thrown when the snapshot is not a state of the matcher.
+     */
+    public void restore(int snapshot) {
+        if (snapshot != DfaMatcher.DEAD && (snapshot < 0 || snapshot >= matcher.size())) {
+            throw new IllegalArgumentException(String.format("Invalid snapshot %d", snapshot));
+        }
+
+        this.state = snapshot;
+    }
+
+    /**
+     * Moves this cursor back to the start of the input.
+     */
+    public void reset() {
+        this.state = matcher.initialState;
+    }
+
+    /**
+     * @return An independent cursor at the same position.
+     */
+    public MatcherCursor copy() {
+        return new MatcherCursor(matcher, state);
+    }
+}
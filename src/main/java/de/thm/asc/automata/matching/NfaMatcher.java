@@ -0,0 +1,54 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+
+import java.util.BitSet;
+
+/**
+ * Simulates a nondeterministic automaton of any size by tracking the set of active states in a {@link BitSet}. Each
+ * input character costs one OR per active state.
+ * <p>
+ * Unlike the {@link BitParallelMatcher}, no tables are built besides the epsilon closed successors, so compiling is
+ * cheap. This pays off when only a few strings are tested, e.g. in {@link FiniteAutomaton#test(String)}.
+ */
+public class NfaMatcher implements Matcher {
+    private final IndexedNfa nfa;
+
+    private NfaMatcher(IndexedNfa nfa) {
+        this.nfa = nfa;
+    }
+
+    /**
+     * Compiles the given automaton into a matcher.
+     *
+     * @param automaton Any automaton.
+     * @return The compiled matcher.
+     */
+    public static NfaMatcher compile(FiniteAutomaton automaton) {
+        return new NfaMatcher(new IndexedNfa(automaton));
+    }
+
+    @Override
+    public boolean test(CharSequence input) {
+        var active = (BitSet) nfa.initialStates.clone();
+
+        for (int i = 0; i < input.length(); i++) {
+            int a = nfa.symbols.indexOf(input.charAt(i));
+            if (a < 0) {
+                return false;
+            }
+
+            var next = new BitSet(nfa.size);
+            for (int p = active.nextSetBit(0); p >= 0; p = active.nextSetBit(p + 1)) {
+                next.or(nfa.successors[a][p]);
+            }
+
+            if (next.isEmpty()) {
+                return false;
+            }
+            active = next;
+        }
+
+        return active.intersects(nfa.finalStates);
+    }
+}
@@ -0,0 +1,291 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.FiniteAutomatonBuilder;
+import de.thm.asc.automata.State;
+import de.thm.asc.automata.Symbol;
+import de.thm.asc.automata.Transition;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Matches input against the product of several deterministic automata, e.g. their intersection or difference.
+ * <p>
+ * The product is never constructed as a whole. Instead, product states are created when the input first reaches them
+ * and are cached together with their transitions. The cache is bounded: once it is full, it is flushed and rebuilt
+ * from the current state on. Every operand is implicitly completed by a dead state, which is entered whenever it has
+ * no transition for a character, so complements are handled without knowing the full alphabet.
+ * <p>
+ * Instances are not thread-safe, since the cache is shared by all calls to {@link #test(CharSequence)}.
+ */
+public class ProductMatcher implements Matcher {
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final int UNKNOWN = -1;
+
+    private final DfaMatcher[] operands;
+    private final Predicate<boolean[]> acceptance;
+    private final int cacheSize;
+
+    // The union of all operand alphabets, the last column is used for characters outside of it
+    private final SymbolIndex symbols;
+    private final int columns;
+
+    // The symbol index of every column in every operand or -1 if the operand does not know the symbol
+    private final int[][] operandSymbols;
+
+    private final Map<Tuple, Integer> ids = new HashMap<>();
+    private int[][] tuples = new int[16][];
+    private boolean[] accepting = new boolean[16];
+    private boolean[] dead = new boolean[16];
+    private int[] transitions;
+    private int count = 0;
+    private int flushes = 0;
+    private int initialState = UNKNOWN;
+
+    /**
+     * The states of all operands making up a product state.
+     */
+    private record Tuple(int[] states) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tuple other && Arrays.equals(states, other.states);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(states);
+        }
+    }
+
+    /**
+     * @param operands   The deterministic automata to combine.
+     * @param acceptance Decides whether a product state is accepting, given which operands are in an accepting state.
+     * @param cacheSize  The maximum number of product states to cache.
+     */
+    public ProductMatcher(List<FiniteAutomaton> operands, Predicate<boolean[]> acceptance, int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+
+        this.operands = operands.stream().map(a -> DfaMatcher.compile(a.toDFA())).toArray(DfaMatcher[]::new);
+        this.acceptance = acceptance;
+        this.cacheSize = cacheSize;
+
+        Set<Symbol> alphabet = new HashSet<>();
+        operands.forEach(a -> alphabet.addAll(a.alphabet()));
+        this.symbols = new SymbolIndex(alphabet);
+        this.columns = symbols.size() + 1;
+
+        this.operandSymbols = new int[this.operands.length][columns];
+        for (int i = 0; i < this.operands.length; i++) {
+            Arrays.fill(operandSymbols[i], DfaMatcher.DEAD);
+            for (int a = 0; a < symbols.size(); a++) {
+                operandSymbols[i][a] = this.operands[i].symbols.indexOf(symbols.symbol(a).value());
+            }
+        }
+
+        this.transitions = new int[16 * columns];
+        Arrays.fill(transitions, UNKNOWN);
+    }
+
+    /**
+     * @param automata The automata to intersect.
+     * @return A matcher accepting the words accepted by all given automata.
+     */
+    public static ProductMatcher intersection(FiniteAutomaton... automata) {
+        return new ProductMatcher(List.of(automata), accepting -> {
+            for (var a : accepting) {
+                if (!a) return false;
+            }
+            return true;
+        }, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param a The automaton whose words are accepted.
+     * @param b The automaton whose words are rejected.
+     * @return A matcher accepting the words accepted by {@code a} but not by {@code b}.
+     */
+    public static ProductMatcher difference(FiniteAutomaton a, FiniteAutomaton b) {
+        return new ProductMatcher(List.of(a, b), accepting -> accepting[0] && !accepting[1], DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param a The automaton to complement.
+     * @return A matcher accepting all words not accepted by {@code a}.
+     */
+    public static ProductMatcher complement(FiniteAutomaton a) {
+        return new ProductMatcher(List.of(a), accepting -> !accepting[0], DEFAULT_CACHE_SIZE);
+    }
+
+    @Override
+    public boolean test(CharSequence input) {
+        if (initialState == UNKNOWN) {
+            initialState = intern(initialTuple());
+        }
+
+        int state = initialState;
+
+        for (int i = 0; i < input.length(); i++) {
+            // Once every operand is dead, the outcome cannot change anymore
+            if (dead[state]) {
+                return accepting[state];
+            }
+
+            int a = symbols.indexOf(input.charAt(i));
+            state = step(state, a < 0 ? columns - 1 : a);
+        }
+
+        return accepting[state];
+    }
+
+    /**
+     * @return The number of product states currently cached.
+     */
+    public int cachedStates() {
+        return count;
+    }
+
+    /**
+     * Explores all reachable product states and builds them into an automaton over the union of the operand
+     * alphabets. Unlike matching, this constructs the entire reachable product at once.
+     *
+     * @return The deterministic product automaton.
+     */
+    public FiniteAutomaton toAutomaton() {
+        var builder = new FiniteAutomatonBuilder();
+        Map<Tuple, State> states = new HashMap<>();
+        Queue<Tuple> queue = new LinkedList<>();
+
+        var initial = new Tuple(initialTuple());
+        states.put(initial, builder.newState("p"));
+        queue.add(initial);
+        builder.setInitialState(states.get(initial));
+
+        while (!queue.isEmpty()) {
+            var cur = queue.remove();
+            var left = states.get(cur);
+
+            if (accepts(cur.states())) {
+                builder.makeFinalState(left);
+            }
+
+            for (int a = 0; a < symbols.size(); a++) {
+                var next = new Tuple(successor(cur.states(), a));
+                var right = states.get(next);
+
+                if (right == null) {
+                    right = builder.newState("p");
+                    states.put(next, right);
+                    queue.add(next);
+                }
+
+                builder.addTransition(Transition.newSymbolTransition(left, right, symbols.symbol(a)));
+            }
+        }
+
+        return builder.result();
+    }
+
+    private int[] initialTuple() {
+        var tuple = new int[operands.length];
+
+        for (int i = 0; i < operands.length; i++) {
+            tuple[i] = operands[i].initialState;
+        }
+
+        return tuple;
+    }
+
+    /**
+     * @param tuple  The operand states.
+     * @param column The column of the symbol to read.
+     * @return The operand states after reading the symbol.
+     */
+    private int[] successor(int[] tuple, int column) {
+        var next = new int[operands.length];
+
+        for (int i = 0; i < operands.length; i++) {
+            int a = operandSymbols[i][column];
+            next[i] = tuple[i] == DfaMatcher.DEAD || a < 0 ? DfaMatcher.DEAD : operands[i].step(tuple[i], a);
+        }
+
+        return next;
+    }
+
+    private boolean accepts(int[] tuple) {
+        var accepting = new boolean[operands.length];
+
+        for (int i = 0; i < operands.length; i++) {
+            accepting[i] = operands[i].isAccepting(tuple[i]);
+        }
+
+        return acceptance.test(accepting);
+    }
+
+    /**
+     * @param state  A cached product state.
+     * @param column The column of the symbol to read.
+     * @return The cached product state after reading the symbol.
+     */
+    private int step(int state, int column) {
+        int next = transitions[state * columns + column];
+
+        if (next == UNKNOWN) {
+            int before = flushes;
+            next = intern(successor(tuples[state], column));
+
+            // A flush invalidates the current state, so the transition cannot be cached
+            if (flushes == before) {
+                transitions[state * columns + column] = next;
+            }
+        }
+
+        return next;
+    }
+
+    /**
+     * @param tuple The operand states.
+     * @return The cached product state for the given operand states, which is created if necessary. If the cache is
+     * full, it is flushed first.
+     */
+    private int intern(int[] tuple) {
+        var key = new Tuple(tuple);
+        var id = ids.get(key);
+
+        if (id != null) {
+            return id;
+        }
+
+        if (count == cacheSize) {
+            flush();
+        }
+
+        if (count == tuples.length) {
+            int capacity = Math.min(count * 2, cacheSize);
+            tuples = Arrays.copyOf(tuples, capacity);
+            accepting = Arrays.copyOf(accepting, capacity);
+            dead = Arrays.copyOf(dead, capacity);
+            transitions = Arrays.copyOf(transitions, capacity * columns);
+            Arrays.fill(transitions, count * columns, transitions.length, UNKNOWN);
+        }
+
+        tuples[count] = tuple;
+        accepting[count] = accepts(tuple);
+        dead[count] = Arrays.stream(tuple).allMatch(s -> s == DfaMatcher.DEAD);
+        ids.put(key, count);
+
+        return count++;
+    }
+
+    private void flush() {
+        ids.clear();
+        Arrays.fill(transitions, 0, count * columns, UNKNOWN);
+        count = 0;
+        flushes++;
+        initialState = UNKNOWN;
+    }
+}
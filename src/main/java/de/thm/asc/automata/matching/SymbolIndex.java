@@ -0,0 +1,58 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.Symbol;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Assigns consecutive indices to the symbols of an alphabet, so they can be used to address rows of transition tables.
+ * ASCII characters are looked up directly, all others by binary search.
+ */
+final class SymbolIndex {
+    private final char[] symbols;
+    private final int[] ascii = new int[128];
+
+    SymbolIndex(Collection<Symbol> alphabet) {
+        this.symbols = new char[alphabet.size()];
+
+        int i = 0;
+        for (var symbol : alphabet) {
+            symbols[i++] = symbol.value();
+        }
+        Arrays.sort(symbols);
+
+        Arrays.fill(ascii, -1);
+        for (i = 0; i < symbols.length && symbols[i] < 128; i++) {
+            ascii[symbols[i]] = i;
+        }
+    }
+
+    /**
+     * @return The number of symbols in the alphabet.
+     */
+    int size() {
+        return symbols.length;
+    }
+
+    /**
+     * @param c A character.
+     * @return The index of the given character or -1 if it is not part of the alphabet.
+     */
+    int indexOf(char c) {
+        if (c < 128) {
+            return ascii[c];
+        }
+
+        int i = Arrays.binarySearch(symbols, c);
+        return i < 0 ? -1 : i;
+    }
+
+    /**
+     * @param i The index of a symbol.
+     * @return The symbol with the given index.
+     */
+    Symbol symbol(int i) {
+        return new Symbol(symbols[i]);
+    }
+}
@@ -0,0 +1,144 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The multi-word variant of the {@link BitParallelMatcher} for automata with up to {@link #MAX_STATES} states. The set
+ * of active states is spread over an array of {@code long}s and split into groups of four states. For every group and
+ * every possible value of that group, the union of the successors of the states it contains is precomputed. A step
+ * therefore costs one OR of a full state set per group containing an active state, instead of one per active state.
+ * <p>
+ * Groups of four keep the tables at 16 state sets per group and symbol class, i.e. at most 128 KB per class for
+ * {@link #MAX_STATES} states. Symbols leading to the same successors from every state share their tables.
+ */
+public class WideBitParallelMatcher implements Matcher {
+    public static final int MAX_STATES = 512;
+
+    private static final int CHUNK_BITS = 4;
+    private static final int CHUNK_VALUES = 1 << CHUNK_BITS;
+    private static final int CHUNKS_PER_WORD = Long.SIZE / CHUNK_BITS;
+
+    private final SymbolIndex symbols;
+    private final int[] symbolClasses;
+    private final int words;
+    private final long[] initialStates;
+    private final long[] finalStates;
+
+    // Indexed by ((symbol class * chunks + chunk) * 16 + value of the chunk) * words + word
+    private final long[] successors;
+
+    private WideBitParallelMatcher(SymbolIndex symbols, int[] symbolClasses, long[] initialStates, long[] finalStates,
+                                   long[] successors) {
+        this.symbols = symbols;
+        this.symbolClasses = symbolClasses;
+        this.words = initialStates.length;
+        this.initialStates = initialStates;
+        this.finalStates = finalStates;
+        this.successors = successors;
+    }
+
+    /**
+     * Compiles the given automaton into a bit-parallel matcher.
+     *
+     * @param automaton An automaton with at most {@link #MAX_STATES} states.
+     * @return The compiled matcher.
+     */
+    public static WideBitParallelMatcher compile(FiniteAutomaton automaton) {
+        if (automaton.states().size() > MAX_STATES) {
+            throw new IllegalArgumentException(String.format("Automaton has more than %d states", MAX_STATES));
+        }
+
+        var nfa = new IndexedNfa(automaton);
+        int words = Math.max(1, (nfa.size + Long.SIZE - 1) / Long.SIZE);
+        int chunks = words * CHUNKS_PER_WORD;
+        var successors = new long[nfa.classCount * chunks * CHUNK_VALUES * words];
+
+        for (int k = 0; k < nfa.classCount; k++) {
+            var targets = nfa.successors(k);
+
+            for (int c = 0; c < chunks; c++) {
+                int base = (k * chunks + c) * CHUNK_VALUES;
+
+                // Every value is the value without its lowest state plus the successors of that state
+                for (int v = 1; v < CHUNK_VALUES; v++) {
+                    int row = (base + v) * words;
+                    System.arraycopy(successors, (base + (v & v - 1)) * words, successors, row, words);
+
+                    int state = c * CHUNK_BITS + Integer.numberOfTrailingZeros(v);
+                    if (state < nfa.size) {
+                        var lowest = targets[state].toLongArray();
+                        for (int w = 0; w < lowest.length; w++) {
+                            successors[row + w] |= lowest[w];
+                        }
+                    }
+                }
+            }
+        }
+
+        var initialStates = new long[words];
+        var finalStates = new long[words];
+        copy(nfa.initialStates, initialStates);
+        copy(nfa.finalStates, finalStates);
+
+        return new WideBitParallelMatcher(nfa.symbols, nfa.symbolClasses, initialStates, finalStates, successors);
+    }
+
+    private static void copy(BitSet set, long[] target) {
+        var words = set.toLongArray();
+        System.arraycopy(words, 0, target, 0, words.length);
+    }
+
+    @Override
+    public boolean test(CharSequence input) {
+        var active = initialStates.clone();
+        var next = new long[words];
+        int chunks = words * CHUNKS_PER_WORD;
+
+        for (int i = 0; i < input.length(); i++) {
+            int a = symbols.indexOf(input.charAt(i));
+            if (a < 0) {
+                return false;
+            }
+
+            Arrays.fill(next, 0);
+            int base = symbolClasses[a] * chunks * CHUNK_VALUES;
+
+            for (int w = 0; w < words; w++) {
+                // Only visit the groups containing at least one active state
+                for (long rest = active[w]; rest != 0; ) {
+                    int shift = Long.numberOfTrailingZeros(rest) & -CHUNK_BITS;
+                    int value = (int) (rest >>> shift & CHUNK_VALUES - 1);
+                    rest &= ~((long) (CHUNK_VALUES - 1) << shift);
+
+                    int row = (base + (w * CHUNKS_PER_WORD + shift / CHUNK_BITS) * CHUNK_VALUES + value) * words;
+                    for (int v = 0; v < words; v++) {
+                        next[v] |= successors[row + v];
+                    }
+                }
+            }
+
+            boolean any = false;
+            for (int w = 0; w < words; w++) {
+                any |= next[w] != 0;
+            }
+            if (!any) {
+                return false;
+            }
+
+            var swap = active;
+            active = next;
+            next = swap;
+        }
+
+        for (int w = 0; w < words; w++) {
+            if ((active[w] & finalStates[w]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
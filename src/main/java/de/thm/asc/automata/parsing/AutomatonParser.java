@@ -13,6 +13,7 @@ public class AutomatonParser {
      *
      * @param s The automaton description to be parsed.
      * @return The generated automaton.
+     * @throws ParserException Thrown when the description is malformed.
      */
     public static FiniteAutomaton parse(String s) {
         var lexer = new Lexer(s);
@@ -26,7 +27,8 @@ public class AutomatonParser {
      *
      * @param path The path to the file containing the description.
      * @return The generated automaton.
-     * @throws IOException Thrown when the given file cannot be accessed.
+     * @throws IOException     Thrown when the given file cannot be accessed.
+     * @throws ParserException Thrown when the description is malformed.
      */
     public static FiniteAutomaton parseFile(String path) throws IOException {
         var content = new String(Files.readAllBytes(Paths.get(path)));
@@ -39,8 +39,7 @@ class Parser {
     }
 
     private void error(String message) {
-        System.err.printf("Error: %s%n", message);
-        System.exit(1);
+        throw new ParserException(message);
     }
 
     private void nextToken() {
@@ -0,0 +1,17 @@
+package de.thm.asc.automata.parsing;
+
+/**
+ * Thrown when an automaton description cannot be parsed.
+ */
+public class ParserException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new instance of a parser exception.
+     *
+     * @param message The description of the error.
+     */
+    public ParserException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,70 @@
+package de.thm.asc.automata.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records latencies in buckets of powers of two nanoseconds. Recording is lock-free and may happen concurrently.
+ */
+public class LatencyHistogram {
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * @param nanos The latency to record.
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+        count.increment();
+        totalNanos.add(nanos);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @param percentile The percentile between 0 and 100.
+     * @return An upper bound of the given percentile in nanoseconds, precise up to a factor of two.
+     */
+    public long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold && seen > 0) {
+                return upperBound(i);
+            }
+        }
+
+        return 0;
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket >= Long.SIZE - 2 ? Long.MAX_VALUE : (2L << bucket) - 1;
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        long count = count();
+
+        sb.append(String.format("count=%d mean=%dns p50<=%dns p90<=%dns p99<=%dns%n", count,
+                count == 0 ? 0 : totalNanos.sum() / count, percentile(50), percentile(90), percentile(99)));
+
+        for (int i = 0; i < buckets.length(); i++) {
+            long n = buckets.get(i);
+            if (n > 0) {
+                sb.append(String.format("    <=%dns: %d%n", upperBound(i), n));
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,313 @@
+package de.thm.asc.automata.server;
+
+import de.thm.asc.automata.matching.ByteMatcher;
+import de.thm.asc.automata.parsing.AutomatonParser;
+
+import java.io.*;
+import java.net.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves match requests against a set of automata loaded from description files. The automata are compiled once and
+ * recompiled whenever their file changes. Recompiled automata are swapped in atomically, so requests in flight finish
+ * with the version they started with.
+ * <p>
+ * Clients connect via a Unix domain socket or a loopback TCP socket and may send any number of requests per
+ * connection. Every connection is served on its own virtual thread. All numbers are big-endian.
+ * <ul>
+ *     <li>Match: the byte {@code 'M'}, the length of the automaton name (2 bytes), the UTF-8 encoded automaton name
+ *     (the file name of its description), the length of the input (4 bytes) and the UTF-8 encoded input. The response
+ *     is a single status byte: {@link #REJECTED}, {@link #ACCEPTED} or {@link #UNKNOWN_AUTOMATON}.</li>
+ *     <li>Statistics: the byte {@code 'S'}. The response is the length (4 bytes) of a UTF-8 encoded text containing
+ *     the latency histogram of every automaton.</li>
+ * </ul>
+ */
+public class MatchServer implements Closeable {
+    public static final byte MATCH = 'M';
+    public static final byte STATISTICS = 'S';
+
+    public static final byte REJECTED = 0;
+    public static final byte ACCEPTED = 1;
+    public static final byte UNKNOWN_AUTOMATON = 2;
+
+    private static final int MAX_INPUT_LENGTH = 64 * 1024 * 1024;
+
+    private final Map<String, Path> files = new HashMap<>();
+    private final AtomicReference<Map<String, ByteMatcher>> matchers = new AtomicReference<>(Map.of());
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final WatchService watchService;
+    private volatile ServerSocketChannel serverChannel;
+    private volatile SocketAddress address;
+
+    /**
+     * Loads and compiles all given description files.
+     *
+     * @param files The description files. Their file names are used as the names of the automata.
+     * @throws IOException Thrown when the files cannot be watched.
+     * @throws IllegalArgumentException Thrown when a file cannot be loaded or two files have the same name.
+     */
+    public MatchServer(List<Path> files) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new HashSet<>();
+
+        try {
+            for (var file : files) {
+                var name = file.getFileName().toString();
+                if (this.files.put(name, file.toAbsolutePath()) != null) {
+                    throw new IllegalArgumentException(String.format("Duplicate automaton name `%s`", name));
+                }
+
+                var directory = file.toAbsolutePath().getParent();
+                if (directories.add(directory)) {
+                    directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+
+                if (!load(name)) {
+                    throw new IllegalArgumentException(String.format("Cannot load automaton `%s`", name));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Nobody can close a server that failed to construct
+            try {
+                watchService.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Binds the server to the given address and accepts connections until the server is closed.
+     *
+     * @param address A {@link UnixDomainSocketAddress} or an {@link InetSocketAddress}.
+     * @throws IOException Thrown when the address cannot be bound.
+     * @see #bind(SocketAddress)
+     */
+    public void serve(SocketAddress address) throws IOException {
+        bind(address);
+        serve();
+    }
+
+    /**
+     * Binds the server to the given address. A Unix domain socket file left behind by a server that was not closed,
+     * e.g. because it was killed, is removed first.
+     *
+     * @param address A {@link UnixDomainSocketAddress} or an {@link InetSocketAddress}.
+     * @throws BindException Thrown when another server is listening on the address.
+     * @throws IOException   Thrown when the address cannot be bound.
+     */
+    public void bind(SocketAddress address) throws IOException {
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            removeStaleSocket(unixAddress);
+        }
+
+        serverChannel = ServerSocketChannel.open(address instanceof UnixDomainSocketAddress
+                ? StandardProtocolFamily.UNIX
+                : ((InetSocketAddress) address).getAddress() instanceof Inet6Address ? StandardProtocolFamily.INET6 : StandardProtocolFamily.INET);
+        serverChannel.bind(address);
+        this.address = serverChannel.getLocalAddress();
+    }
+
+    /**
+     * @return The address the server is bound to, with the actual port if it was bound to port 0, or {@code null} if
+     * it has not been bound yet.
+     */
+    public SocketAddress address() {
+        return address;
+    }
+
+    /**
+     * Accepts connections on the bound address until the server is closed. Files are watched in the background.
+     *
+     * @throws IOException Thrown when accepting a connection fails.
+     * @throws IllegalStateException Thrown when the server has not been bound.
+     */
+    public void serve() throws IOException {
+        if (serverChannel == null) {
+            throw new IllegalStateException("Server is not bound");
+        }
+
+        Thread.ofVirtual().name("automaton-watcher").start(this::watch);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (serverChannel.isOpen()) {
+                SocketChannel client;
+                try {
+                    client = serverChannel.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+
+                executor.submit(() -> handle(client));
+            }
+        }
+    }
+
+    /**
+     * Deletes the given socket file if nobody is listening on it anymore.
+     *
+     * @throws BindException Thrown when another server is listening on the socket.
+     */
+    private static void removeStaleSocket(UnixDomainSocketAddress address) throws IOException {
+        var path = address.getPath();
+
+        // Only sockets are removed, any other file is left for bind to fail on
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)
+                || !Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther()) {
+            return;
+        }
+
+        try {
+            SocketChannel.open(address).close();
+        } catch (ConnectException e) {
+            Files.deleteIfExists(path);
+            return;
+        }
+
+        throw new BindException(String.format("Another server is listening on %s", path));
+    }
+
+    /**
+     * Stops accepting connections and removes the Unix domain socket file. May be called more than once, e.g. from a
+     * shutdown hook.
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            Files.deleteIfExists(unixAddress.getPath());
+        }
+        watchService.close();
+    }
+
+    /**
+     * @return The latency histograms of all automata, indexed by automaton name.
+     */
+    public Map<String, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    private void handle(SocketChannel client) {
+        try (client;
+             var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client)));
+             var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)))) {
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    return;
+                }
+
+                switch (type) {
+                    case MATCH -> out.writeByte(match(in));
+                    case STATISTICS -> {
+                        var text = statistics().getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(text.length);
+                        out.write(text);
+                    }
+                    default -> throw new ProtocolException(String.format("Unknown request type %d", type));
+                }
+
+                // Only flush once all pipelined requests have been answered
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            System.err.printf("Connection closed: %s%n", e.getMessage());
+        }
+    }
+
+    private byte match(DataInputStream in) throws IOException {
+        var name = new byte[in.readUnsignedShort()];
+        in.readFully(name);
+
+        int length = in.readInt();
+        if (length < 0 || length > MAX_INPUT_LENGTH) {
+            throw new ProtocolException(String.format("Invalid input length %d", length));
+        }
+        var input = new byte[length];
+        in.readFully(input);
+
+        // Only measure the matching itself, reading the request depends on the client
+        long start = System.nanoTime();
+        var automaton = new String(name, StandardCharsets.UTF_8);
+        var matcher = matchers.get().get(automaton);
+        if (matcher == null) {
+            return UNKNOWN_AUTOMATON;
+        }
+
+        boolean accepted = matcher.test(input);
+        histograms.computeIfAbsent(automaton, k -> new LatencyHistogram()).record(System.nanoTime() - start);
+
+        return accepted ? ACCEPTED : REJECTED;
+    }
+
+    private String statistics() {
+        var sb = new StringBuilder();
+
+        new TreeMap<>(histograms).forEach((name, histogram) -> sb.append(name).append(": ").append(histogram));
+
+        return sb.toString();
+    }
+
+    /**
+     * Parses and compiles the automaton with the given name and swaps it in. If this fails, the previous version of
+     * the automaton is kept.
+     *
+     * @param name The name of the automaton.
+     * @return Whether the automaton was loaded successfully.
+     */
+    private boolean load(String name) {
+        try {
+            var matcher = ByteMatcher.compile(AutomatonParser.parseFile(files.get(name).toString()));
+
+            matchers.updateAndGet(current -> {
+                var updated = new HashMap<>(current);
+                updated.put(name, matcher);
+                return Map.copyOf(updated);
+            });
+
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.printf("Failed to load `%s`: %s%n", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                var key = watchService.take();
+                var directory = (Path) key.watchable();
+
+                for (var event : key.pollEvents()) {
+                    if (!(event.context() instanceof Path changed)) continue;
+
+                    var name = changed.getFileName().toString();
+                    if (directory.resolve(changed).equals(files.get(name)) && load(name)) {
+                        System.err.printf("Reloaded `%s`%n", name);
+                    }
+                }
+
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // The server has been closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
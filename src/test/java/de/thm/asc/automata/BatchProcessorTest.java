@@ -0,0 +1,47 @@
+package de.thm.asc.automata;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void collectsEveryFileOnce() throws Exception {
+        var a = Files.writeString(directory.resolve("a.txt"), "[q0] -> (q1): a\n");
+        Files.writeString(directory.resolve("a.txt.dfa.dot"), "digraph {}\n");
+
+        var files = BatchProcessor.collectFiles(List.of(
+                directory.toString(),
+                a.toString(),
+                directory.resolve(".").resolve("a.txt").toString(),
+                directory + "/*"
+        ));
+
+        assertEquals(List.of(a.toAbsolutePath().normalize()), files);
+    }
+
+    @Test
+    void reportsFailuresPerFile() throws Exception {
+        var valid = Files.writeString(directory.resolve("valid.txt"), "[q0] -> (q1): a\nq0 -> q2: a\n");
+        var invalid = Files.writeString(directory.resolve("invalid.txt"), "[q0] -> q1: a\n");
+        var missing = directory.resolve("missing.txt");
+
+        var results = new BatchProcessor(1).process(List.of(valid, invalid, missing));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(3, results.get(0).nfaStates());
+        assertTrue(Files.exists(directory.resolve("valid.txt.dfa.dot")));
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+    }
+}
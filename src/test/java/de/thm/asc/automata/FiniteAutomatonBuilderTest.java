@@ -0,0 +1,123 @@
+package de.thm.asc.automata;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiniteAutomatonBuilderTest {
+
+    @Test
+    void packsTransitions() {
+        int max = TransitionStore.MAX_STATES - 1;
+
+        for (var symbol : new Symbol[]{null, new Symbol('\0'), new Symbol('a'), new Symbol('\uFFFE'), new Symbol('\uFFFF')}) {
+            for (int[] states : new int[][]{{0, 0}, {0, max}, {max, 0}, {max, max}, {12345, 678}}) {
+                long packed = TransitionStore.pack(states[0], symbol, states[1]);
+
+                assertTrue(packed >= 0);
+                assertEquals(states[0], TransitionStore.left(packed));
+                assertEquals(states[1], TransitionStore.right(packed));
+                assertEquals(symbol, TransitionStore.symbol(packed));
+            }
+        }
+
+        // Epsilon is encoded as symbol code 0, so it must differ from the char 0
+        assertNotEquals(TransitionStore.pack(1, null, 2), TransitionStore.pack(1, new Symbol('\0'), 2));
+    }
+
+    @Test
+    void ignoresDuplicateTransitions() {
+        var builder = new FiniteAutomatonBuilder();
+        var q0 = builder.newState();
+        var q1 = builder.newState();
+        var a = new Symbol('a');
+
+        builder.addTransition(Transition.newSymbolTransition(q0, q1, a));
+        builder.addTransition(Transition.newSymbolTransition(q0, q1, a));
+        builder.addTransition(Transition.newEpsilonTransition(q0, q1));
+        builder.addTransition(Transition.newEpsilonTransition(q0, q1));
+
+        assertEquals(Set.of(Transition.newSymbolTransition(q0, q1, a), Transition.newEpsilonTransition(q0, q1)),
+                builder.result().transitions());
+    }
+
+    @Test
+    void distinguishesEpsilonAndSymbols() {
+        var builder = new FiniteAutomatonBuilder();
+        var q0 = builder.newState();
+        var q1 = builder.newState();
+        var q2 = builder.newState();
+
+        builder.addTransition(Transition.newEpsilonTransition(q0, q1));
+        builder.addTransition(Transition.newSymbolTransition(q1, q2, new Symbol('\uFFFF')));
+
+        assertTrue(builder.hasTransition(q0, q1, null));
+        assertFalse(builder.hasTransition(q0, q1, new Symbol('\0')));
+        assertTrue(builder.hasTransition(q1, q2, new Symbol('\uFFFF')));
+        assertFalse(builder.hasTransition(q1, q2, null));
+        assertFalse(builder.hasTransition(q1, q2, new Symbol('\uFFFE')));
+        assertFalse(builder.hasTransition(q2, q1, new Symbol('\uFFFF')));
+        // States never used in a transition have no index yet
+        assertFalse(builder.hasTransition(q0, new State("other"), null));
+
+        var result = builder.result();
+        assertEquals(Set.of(new Symbol('\uFFFF')), result.alphabet());
+        assertTrue(result.transitions().contains(Transition.newEpsilonTransition(q0, q1)));
+    }
+
+    @Test
+    void growsPastSeveralResizes() {
+        var builder = new FiniteAutomatonBuilder();
+        var states = new State[1000];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = builder.newState();
+        }
+
+        var random = new Random(3);
+        Set<Transition> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            var left = states[random.nextInt(states.length)];
+            var right = states[random.nextInt(states.length)];
+            var transition = random.nextInt(10) == 0
+                    ? Transition.newEpsilonTransition(left, right)
+                    : Transition.newSymbolTransition(left, right, new Symbol((char) ('a' + random.nextInt(5))));
+
+            expected.add(transition);
+            builder.addTransition(transition);
+        }
+
+        for (var t : expected) {
+            assertTrue(builder.hasTransition(t.left, t.right, t.isEpsilonTransition() ? null : t.symbol()));
+        }
+        assertEquals(expected, builder.result().transitions());
+    }
+
+    @Test
+    void roundTripsAutomata() {
+        var automaton = Languages.random(new Random(5), 50, 200);
+        var result = new FiniteAutomatonBuilder(automaton).result();
+
+        assertEquals(automaton.states(), result.states());
+        assertEquals(automaton.initialState(), result.initialState());
+        assertEquals(automaton.finalStates(), result.finalStates());
+        assertEquals(automaton.transitions(), result.transitions());
+    }
+
+    @Test
+    void comparesTransitionsByValue() {
+        var q0 = new State("q0");
+        var q1 = new State("q1");
+        var a = new Symbol('a');
+
+        assertEquals(Transition.newSymbolTransition(q0, q1, a), Transition.newSymbolTransition(q0, q1, a));
+        assertEquals(Transition.newSymbolTransition(q0, q1, a).hashCode(),
+                Transition.newSymbolTransition(q0, q1, a).hashCode());
+        assertEquals(Transition.newEpsilonTransition(q0, q1), Transition.newEpsilonTransition(q0, q1));
+        assertNotEquals(Transition.newEpsilonTransition(q0, q1), Transition.newSymbolTransition(q0, q1, a));
+        assertNotEquals(Transition.newSymbolTransition(q0, q1, a), Transition.newSymbolTransition(q1, q0, a));
+    }
+}
@@ -0,0 +1,163 @@
+package de.thm.asc.automata;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the languages of automata by simulating them directly on all short words, independently of the matchers
+ * used by {@link FiniteAutomaton#test(String)}.
+ */
+public final class Languages {
+    public static final int MAX_LENGTH = 6;
+
+    private Languages() {
+    }
+
+    /**
+     * Asserts that both automata accept the same words of up to {@link #MAX_LENGTH} symbols over the alphabet of the
+     * expected automaton.
+     */
+    public static void assertEquivalent(FiniteAutomaton expected, FiniteAutomaton actual) {
+        var alphabet = expected.alphabet().stream().map(Symbol::value).sorted().toList();
+
+        for (var word : words(alphabet)) {
+            assertEquals(accepts(expected, word), accepts(actual, word), () -> String.format("Word `%s`", word));
+        }
+    }
+
+    /**
+     * Simulates the given automaton on the given word by tracking the set of active states.
+     *
+     * @return Whether the word is accepted.
+     */
+    public static boolean accepts(FiniteAutomaton automaton, String word) {
+        Map<State, List<State>> epsilon = new HashMap<>();
+        Map<State, List<Transition>> outgoing = new HashMap<>();
+        for (var t : automaton.transitions()) {
+            if (t.isEpsilonTransition()) {
+                epsilon.computeIfAbsent(t.left, k -> new ArrayList<>()).add(t.right);
+            } else {
+                outgoing.computeIfAbsent(t.left, k -> new ArrayList<>()).add(t);
+            }
+        }
+
+        var current = closure(epsilon, Set.of(automaton.initialState()));
+
+        for (var c : word.toCharArray()) {
+            Set<State> next = new HashSet<>();
+            for (var state : current) {
+                for (var t : outgoing.getOrDefault(state, List.of())) {
+                    if (t.symbol().value() == c) {
+                        next.add(t.right);
+                    }
+                }
+            }
+            current = closure(epsilon, next);
+        }
+
+        return current.stream().anyMatch(automaton.finalStates()::contains);
+    }
+
+    private static Set<State> closure(Map<State, List<State>> epsilon, Set<State> states) {
+        Set<State> result = new HashSet<>(states);
+        Deque<State> queue = new ArrayDeque<>(states);
+
+        while (!queue.isEmpty()) {
+            for (var next : epsilon.getOrDefault(queue.remove(), List.of())) {
+                if (result.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static List<String> words(List<Character> alphabet) {
+        List<String> words = new ArrayList<>(List.of(""));
+
+        for (int i = 0; i < words.size(); i++) {
+            if (words.get(i).length() == MAX_LENGTH) continue;
+            for (var c : alphabet) {
+                words.add(words.get(i) + c);
+            }
+        }
+
+        return words;
+    }
+
+    /**
+     * Generates a random automaton over {@code a} and {@code b} with some epsilon transitions.
+     *
+     * @param random The source of randomness.
+     * @param size   The number of states.
+     * @return The generated automaton.
+     */
+    public static FiniteAutomaton random(Random random, int size) {
+        return random(random, size, size * 2);
+    }
+
+    /**
+     * Generates a random automaton over {@code a} and {@code b} with some epsilon transitions.
+     *
+     * @param random      The source of randomness.
+     * @param size        The number of states.
+     * @param transitions The number of transitions to generate. Duplicates are only added once.
+     * @return The generated automaton.
+     */
+    public static FiniteAutomaton random(Random random, int size, int transitions) {
+        var states = new State[size];
+        for (int i = 0; i < size; i++) {
+            states[i] = new State("q" + i);
+        }
+
+        Set<State> finalStates = new HashSet<>();
+        Set<Transition> edges = new HashSet<>();
+        var symbols = new Symbol[]{new Symbol('a'), new Symbol('b')};
+
+        for (var state : states) {
+            if (random.nextInt(4) == 0) {
+                finalStates.add(state);
+            }
+        }
+
+        for (int i = 0; i < transitions; i++) {
+            var left = states[random.nextInt(size)];
+            var right = states[random.nextInt(size)];
+
+            if (random.nextInt(6) == 0) {
+                edges.add(Transition.newEpsilonTransition(left, right));
+            } else {
+                edges.add(Transition.newSymbolTransition(left, right, symbols[random.nextInt(2)]));
+            }
+        }
+
+        return new FiniteAutomaton(Set.of(states), Set.of(symbols), states[0], finalStates, edges);
+    }
+
+    /**
+     * Builds an automaton accepting exactly the given words. Every word gets its own path of states, so the automaton
+     * is nondeterministic if two words share a prefix.
+     *
+     * @param words The words to accept.
+     * @return The built automaton.
+     */
+    public static FiniteAutomaton words(String... words) {
+        var builder = new FiniteAutomatonBuilder();
+        var initial = builder.newState("q");
+        builder.setInitialState(initial);
+
+        for (var word : words) {
+            var current = initial;
+            for (var c : word.toCharArray()) {
+                var next = builder.newState("q");
+                builder.addTransition(Transition.newSymbolTransition(current, next, new Symbol(c)));
+                current = next;
+            }
+            builder.makeFinalState(current);
+        }
+
+        return builder.result();
+    }
+}
@@ -0,0 +1,122 @@
+package de.thm.asc.automata.algorithms;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.Languages;
+import de.thm.asc.automata.parsing.AutomatonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PowersetConstructionTest {
+
+    private static FiniteAutomaton determinize(String description) {
+        var nfa = AutomatonParser.parse(description);
+        var dfa = PowersetConstruction.apply(nfa);
+
+        assertTrue(dfa.isDeterministic());
+        Languages.assertEquivalent(nfa, dfa);
+
+        return dfa;
+    }
+
+    @Test
+    void keepsLanguageOfExample() {
+        determinize("""
+                [q0] -> q1: a
+                q0 -> q2: a
+                q2 -> q2: b
+                q2 -> q3: b
+                q1 -> q3: ε
+                q3 -> (q4): a
+                """);
+    }
+
+    @Test
+    void followsEpsilonTransitionsFromInitialState() {
+        var dfa = determinize("""
+                [q0] -> q1:
+                q1 -> (q2):
+                q0 -> q3: a
+                q3 -> (q2): b
+                """);
+
+        assertTrue(dfa.finalStates().contains(dfa.initialState()));
+    }
+
+    @Test
+    void followsEpsilonCycles() {
+        determinize("""
+                [q0] -> q1:
+                q1 -> q0:
+                q1 -> q2: a
+                q2 -> q1:
+                q0 -> (q3): b
+                """);
+    }
+
+    @Test
+    void keepsFinalInitialState() {
+        var dfa = determinize("""
+                [q0] -> q1: a
+                q1 -> (q0): b
+                """);
+
+        assertTrue(dfa.finalStates().contains(dfa.initialState()));
+    }
+
+    @Test
+    void namesEqualSetsConsistently() {
+        // Both paths reach {q1, q2}, which must become the same state. The empty set is the fourth state.
+        var dfa = determinize("""
+                [q0] -> q1: a
+                q0 -> q2: a
+                q0 -> q2: b
+                q0 -> q1: b
+                q1 -> (q3): c
+                q2 -> (q3): c
+                """);
+
+        assertEquals(4, dfa.states().size());
+    }
+
+    @Test
+    void toDfaReducesBeforeDeterminizing() {
+        var random = new Random(7);
+
+        for (int i = 0; i < 200; i++) {
+            var nfa = Languages.random(random, 2 + random.nextInt(8));
+            var dfa = nfa.toDFA();
+
+            assertTrue(dfa.isDeterministic());
+            Languages.assertEquivalent(nfa, dfa);
+        }
+    }
+
+    @Test
+    void toDfaReportsReductionOnlyForNondeterministicAutomata() {
+        var dfa = AutomatonParser.parse("[q0] -> (q1): a\n");
+        dfa.toDFA(reduction -> fail("Deterministic automata must not be reduced"));
+
+        var nfa = AutomatonParser.parse("[q0] -> (q1): a\nq0 -> q2: a\n");
+        var reported = new boolean[1];
+        nfa.toDFA(reduction -> reported[0] = true);
+        assertTrue(reported[0]);
+    }
+
+    @Test
+    void toDfaSkipsReductionForLargeAutomata() {
+        var sb = new StringBuilder("[q0] -> q1: a\nq0 -> q1: b\n");
+        for (int i = 1; i <= SimulationReduction.MAX_STATES; i++) {
+            sb.append(String.format("q%d -> %s: a%n", i, i == SimulationReduction.MAX_STATES ? "(q" + (i + 1) + ")" : "q" + (i + 1)));
+        }
+        // One epsilon transition keeps the automaton nondeterministic
+        sb.append("q1 -> q2:\n");
+
+        var nfa = AutomatonParser.parse(sb.toString());
+        var dfa = nfa.toDFA(reduction -> fail("Automata above the size limit must not be reduced"));
+
+        assertTrue(dfa.isDeterministic());
+    }
+}
@@ -0,0 +1,138 @@
+package de.thm.asc.automata.algorithms;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.Languages;
+import de.thm.asc.automata.Transition;
+import de.thm.asc.automata.parsing.AutomatonParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationReductionTest {
+
+    private static FiniteAutomaton reduce(String description) {
+        var nfa = AutomatonParser.parse(description);
+        var reduced = SimulationReduction.apply(nfa);
+
+        Languages.assertEquivalent(nfa, reduced);
+        assertTrue(reduced.transitions().stream().noneMatch(Transition::isEpsilonTransition));
+
+        return reduced;
+    }
+
+    @Test
+    void keepsLanguageOfExample() {
+        reduce("""
+                [q0] -> q1: a
+                q0 -> q2: a
+                q2 -> q2: b
+                q2 -> q3: b
+                q1 -> q3: ε
+                q3 -> (q4): a
+                """);
+    }
+
+    @Test
+    void mergesEquivalentBranches() {
+        var reduced = reduce("""
+                [q0] -> q1: a
+                q0 -> q2: a
+                q1 -> (q3): b
+                q2 -> (q4): b
+                """);
+
+        assertEquals(3, reduced.states().size());
+        assertEquals(2, reduced.transitions().size());
+    }
+
+    @Test
+    void removesEpsilonTransitionsToFinalStates() {
+        var reduced = reduce("""
+                [q0] -> q1:
+                q1 -> (q2):
+                q2 -> q0: a
+                """);
+
+        assertTrue(reduced.finalStates().contains(reduced.initialState()));
+    }
+
+    @Test
+    void removesEpsilonCycles() {
+        reduce("""
+                [q0] -> q1: a
+                q1 -> q2:
+                q2 -> q1:
+                q2 -> q3: b
+                q3 -> q1:
+                q1 -> (q4): a
+                """);
+    }
+
+    @Test
+    void keepsInitialStateForEmptyLanguage() {
+        var reduced = reduce("""
+                [q0] -> q1: a
+                q1 -> q0: b
+                q2 -> (q3): a
+                """);
+
+        assertEquals(1, reduced.states().size());
+        assertTrue(reduced.finalStates().isEmpty());
+        assertTrue(reduced.transitions().isEmpty());
+    }
+
+    @Test
+    void keepsFinalInitialState() {
+        var reduced = reduce("""
+                [q0] -> q1: a
+                q1 -> (q0): b
+                """);
+
+        assertTrue(reduced.finalStates().contains(reduced.initialState()));
+    }
+
+    @Test
+    void doesNotMergeInitialStateWithLoop() {
+        // q0 and q2 have the same future, but only q0 may be entered without reading anything
+        reduce("""
+                [q0] -> q1: a
+                q1 -> q2: b
+                q2 -> q1: a
+                q1 -> (q3): c
+                q2 -> q0: b
+                """);
+    }
+
+    @Test
+    void reducesLongChainWithBackEdges() {
+        var sb = new StringBuilder();
+        int size = 300;
+
+        for (int i = 0; i < size - 1; i++) {
+            var left = i == 0 ? "[q0]" : "q" + i;
+            var right = i == size - 2 ? "(q" + (i + 1) + ")" : "q" + (i + 1);
+            sb.append(String.format("%s -> %s: %s%n", left, right, i % 2 == 0 ? "a" : "b"));
+            if (i > 0) {
+                sb.append(String.format("q%d -> q0: b%n", i));
+            }
+        }
+
+        var nfa = AutomatonParser.parse(sb.toString());
+        var reduced = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> SimulationReduction.apply(nfa));
+
+        Languages.assertEquivalent(nfa, reduced);
+    }
+
+    @Test
+    void keepsLanguageOfRandomAutomata() {
+        var random = new Random(42);
+
+        for (int i = 0; i < 200; i++) {
+            var nfa = Languages.random(random, 2 + random.nextInt(8));
+            Languages.assertEquivalent(nfa, SimulationReduction.apply(nfa));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package de.thm.asc.automata.algorithms;
+
+import de.thm.asc.automata.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Utf8ConstructionTest {
+
+    /**
+     * @return The UTF-8 encoding of the given word, every byte represented by a char.
+     */
+    private static String bytes(String word) {
+        var sb = new StringBuilder();
+
+        for (var b : word.getBytes(StandardCharsets.UTF_8)) {
+            sb.append((char) (b & 0xFF));
+        }
+
+        return sb.toString();
+    }
+
+    @Test
+    void encodesOneToFourByteSequences() {
+        // a (1 byte), ä (2 bytes), € (3 bytes) and U+1F600 (4 bytes, a surrogate pair in UTF-16)
+        var word = "aä€😀";
+        var utf8 = Utf8Construction.apply(Languages.words(word));
+
+        assertTrue(utf8.isDeterministic());
+        assertTrue(utf8.alphabet().stream().allMatch(s -> s.value() <= 0xFF));
+        assertEquals(1 + 2 + 3 + 4, utf8.transitions().size());
+
+        assertTrue(Languages.accepts(utf8, bytes(word)));
+        assertFalse(Languages.accepts(utf8, bytes("aä€")));
+        assertFalse(Languages.accepts(utf8, word));
+    }
+
+    @Test
+    void sharesCommonPrefixes() {
+        // ä and ö share the lead byte 0xC3
+        var utf8 = Utf8Construction.apply(Languages.words("ä", "ö"));
+
+        assertTrue(utf8.isDeterministic());
+        assertEquals(3, utf8.transitions().size());
+        assertTrue(Languages.accepts(utf8, bytes("ä")));
+        assertTrue(Languages.accepts(utf8, bytes("ö")));
+    }
+
+    @Test
+    void encodesSurrogatePairsAcrossStates() {
+        // Two different low surrogates after the same high surrogate
+        var utf8 = Utf8Construction.apply(Languages.words("😀", "😁"));
+
+        assertTrue(utf8.isDeterministic());
+        assertTrue(Languages.accepts(utf8, bytes("😀")));
+        assertTrue(Languages.accepts(utf8, bytes("😁")));
+        assertFalse(Languages.accepts(utf8, bytes("😂")));
+    }
+
+    @Test
+    void dropsLoneSurrogates() {
+        var q0 = new State("q0");
+        var q1 = new State("q1");
+        var q2 = new State("q2");
+        var high = new Symbol('\uD83D');
+        var low = new Symbol('\uDE00');
+        var a = new Symbol('a');
+
+        // A lone high surrogate followed by a, and a lone low surrogate, so nothing can be read from q0
+        var automaton = new FiniteAutomaton(Set.of(q0, q1, q2), Set.of(high, low, a), q0, Set.of(q2), Set.of(
+                Transition.newSymbolTransition(q0, q1, high),
+                Transition.newSymbolTransition(q1, q2, a),
+                Transition.newSymbolTransition(q0, q2, low)
+        ));
+        var utf8 = Utf8Construction.apply(automaton);
+
+        assertTrue(utf8.getTransitions(q0).isEmpty());
+        assertFalse(Languages.accepts(utf8, "a"));
+        assertFalse(Languages.accepts(utf8, bytes("\uDE00")));
+    }
+}
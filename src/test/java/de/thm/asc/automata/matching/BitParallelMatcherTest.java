@@ -0,0 +1,98 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.Languages;
+import de.thm.asc.automata.parsing.AutomatonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the simulating matchers against a direct simulation of the automaton. Random words also contain {@code x},
+ * which lies outside the alphabet of the generated automata.
+ */
+class BitParallelMatcherTest {
+
+    private static void assertMatches(FiniteAutomaton nfa, Matcher matcher, Random random) {
+        for (int i = 0; i < 100; i++) {
+            var word = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                word.append(random.nextInt(40) == 0 ? 'x' : "ab".charAt(random.nextInt(2)));
+            }
+
+            var w = word.toString();
+            assertEquals(Languages.accepts(nfa, w), matcher.test(w), () -> String.format("Word `%s`", w));
+        }
+    }
+
+    private static void assertMatchesRandom(int size, Function<FiniteAutomaton, Matcher> compile) {
+        var random = new Random(size);
+
+        for (int i = 0; i < 6; i++) {
+            // Dense automata keep many states active, so many chunks of the tables are combined
+            var nfa = Languages.random(random, size, size * (i % 2 == 0 ? 2 : 8));
+            assertMatches(nfa, compile.apply(nfa), random);
+        }
+    }
+
+    @Test
+    void matchesSmallAutomata() {
+        for (int size : new int[]{1, 7, 8, 9, 40, 63, 64}) {
+            assertMatchesRandom(size, BitParallelMatcher::compile);
+        }
+    }
+
+    @Test
+    void matchesWideAutomata() {
+        for (int size : new int[]{1, 63, 64, 65, 130, 300, 511, 512}) {
+            assertMatchesRandom(size, WideBitParallelMatcher::compile);
+        }
+    }
+
+    @Test
+    void matchesWithSetSimulation() {
+        for (int size : new int[]{1, 64, 65, 600}) {
+            assertMatchesRandom(size, NfaMatcher::compile);
+        }
+    }
+
+    @Test
+    void followsEpsilonClosures() {
+        var nfa = AutomatonParser.parse("""
+                [q0] -> q1:
+                q1 -> q2:
+                q2 -> (q3): a
+                q3 -> q0:
+                q3 -> q4: b
+                q4 -> q2:
+                """);
+
+        for (var matcher : new Matcher[]{
+                BitParallelMatcher.compile(nfa), WideBitParallelMatcher.compile(nfa), NfaMatcher.compile(nfa)}) {
+            for (var word : new String[]{"", "a", "aa", "ab", "aba", "abba", "b", "ax", "x"}) {
+                assertEquals(Languages.accepts(nfa, word), matcher.test(word), word);
+            }
+        }
+    }
+
+    @Test
+    void selectsMatcherBySize() {
+        var random = new Random(1);
+
+        assertInstanceOf(BitParallelMatcher.class, Languages.random(random, 64, 256).matcher());
+        assertInstanceOf(WideBitParallelMatcher.class, Languages.random(random, 65, 256).matcher());
+        assertInstanceOf(WideBitParallelMatcher.class, Languages.random(random, 512, 2048).matcher());
+    }
+
+    @Test
+    void rejectsTooLargeAutomata() {
+        var random = new Random(1);
+
+        assertThrows(IllegalArgumentException.class, () -> BitParallelMatcher.compile(Languages.random(random, 65)));
+        assertThrows(IllegalArgumentException.class, () -> WideBitParallelMatcher.compile(Languages.random(random, 513)));
+    }
+}
@@ -0,0 +1,103 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.Languages;
+import de.thm.asc.automata.parsing.AutomatonParser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteMatcherTest {
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void agreesWithAutomaton() {
+        var nfa = AutomatonParser.parse("""
+                [q0] -> q1: a
+                q1 -> q1: ä
+                q1 -> q2: 中
+                q2 -> (q3): b
+                q0 -> (q3): ö
+                """);
+        var matcher = ByteMatcher.compile(nfa);
+
+        for (var word : new String[]{"", "a", "a中b", "aää中b", "ö", "öö", "a中", "b", "aäx中b"}) {
+            assertEquals(Languages.accepts(nfa, word), matcher.test(utf8(word)), word);
+        }
+    }
+
+    @Test
+    void matchesSupplementaryCharacters() {
+        var matcher = ByteMatcher.compile(Languages.words("x😀"));
+
+        assertTrue(matcher.test(utf8("x😀")));
+        assertFalse(matcher.test(utf8("x😁")));
+        // Truncated encodings are rejected
+        var bytes = utf8("x😀");
+        assertFalse(matcher.test(bytes, 0, bytes.length - 1));
+    }
+
+    @Test
+    void readsRangesOfArrays() {
+        var matcher = ByteMatcher.compile(Languages.words("ä"));
+        var bytes = utf8("xäy");
+
+        assertTrue(matcher.test(bytes, 1, 2));
+        assertFalse(matcher.test(bytes, 0, 3));
+        assertFalse(matcher.test(bytes, 1, 1));
+    }
+
+    @Test
+    void readsRemainingBytesOfBuffers() {
+        var matcher = ByteMatcher.compile(Languages.words("ä中"));
+        var bytes = utf8("xä中");
+
+        for (var buffer : new ByteBuffer[]{ByteBuffer.allocate(16), ByteBuffer.allocateDirect(16)}) {
+            buffer.put(bytes).flip().position(1);
+
+            assertTrue(matcher.test(buffer));
+            assertEquals(1, buffer.position());
+
+            buffer.position(0);
+            assertFalse(matcher.test(buffer));
+        }
+
+        // A heap buffer with an array offset
+        var slice = ByteBuffer.wrap(bytes).position(1).slice();
+        assertTrue(matcher.test(slice));
+    }
+
+    @Test
+    void rejectsEverythingForEmptyLanguage() {
+        // The final state cannot be reached, so the initial state is dead
+        var matcher = ByteMatcher.compile(AutomatonParser.parse("""
+                [q0] -> q1: a
+                q2 -> (q3): a
+                """));
+
+        assertFalse(matcher.test(new byte[0]));
+        assertFalse(matcher.test(utf8("a")));
+        assertFalse(matcher.test(ByteBuffer.allocateDirect(4)));
+    }
+
+    @Test
+    void rejectsAfterTrapState() {
+        // The powerset construction adds a trap state for the empty set, which must not accept anything
+        var matcher = ByteMatcher.compile(AutomatonParser.parse("""
+                [q0] -> q1: a
+                q0 -> q2: a
+                q1 -> (q3): b
+                q2 -> (q3): c
+                """));
+
+        assertTrue(matcher.test(utf8("ab")));
+        assertTrue(matcher.test(utf8("ac")));
+        assertFalse(matcher.test(utf8("ba")));
+        assertFalse(matcher.test(utf8("abab")));
+    }
+}
@@ -0,0 +1,123 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.Languages;
+import de.thm.asc.automata.parsing.AutomatonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatcherCursorTest {
+
+    // Accepts ab, q3 cannot reach a final state
+    private static MatcherCursor cursor() {
+        return AutomatonParser.parse("""
+                [q0] -> q1: a
+                q1 -> (q2): b
+                q1 -> q3: a
+                q3 -> q3: b
+                """).cursor();
+    }
+
+    @Test
+    void distinguishesDeadFromNotYetAccepted() {
+        var cursor = cursor();
+        assertFalse(cursor.isAccepting());
+        assertFalse(cursor.isDead());
+        assertTrue(cursor.canStillAccept());
+
+        cursor.feed('a');
+        assertFalse(cursor.isAccepting());
+        assertFalse(cursor.isDead());
+
+        cursor.feed('b');
+        assertTrue(cursor.isAccepting());
+        assertFalse(cursor.isDead());
+
+        cursor.feed('b');
+        assertFalse(cursor.isAccepting());
+        assertTrue(cursor.isDead());
+        assertFalse(cursor.canStillAccept());
+
+        // A state that cannot reach a final state is dead as well
+        assertTrue(cursor().feed("aa").isDead());
+        // So is any character outside the alphabet
+        assertTrue(cursor().feed('x').isDead());
+    }
+
+    @Test
+    void staysDead() {
+        var cursor = cursor().feed("ba");
+
+        assertTrue(cursor.isDead());
+        assertTrue(cursor.feed("ab").isDead());
+        assertFalse(cursor.isAccepting());
+    }
+
+    @Test
+    void restoresSnapshots() {
+        var cursor = cursor().feed('a');
+        int afterA = cursor.snapshot();
+
+        cursor.feed('a');
+        int dead = cursor.snapshot();
+        assertTrue(cursor.isDead());
+
+        cursor.restore(afterA);
+        assertFalse(cursor.isDead());
+        assertTrue(cursor.feed('b').isAccepting());
+
+        cursor.restore(dead);
+        assertTrue(cursor.isDead());
+        assertFalse(cursor.feed('b').isAccepting());
+
+        cursor.reset();
+        assertTrue(cursor.feed("ab").isAccepting());
+    }
+
+    @Test
+    void copiesIndependently() {
+        var cursor = cursor().feed('a');
+        var copy = cursor.copy();
+
+        cursor.feed('a');
+        assertTrue(cursor.isDead());
+        assertTrue(copy.feed('b').isAccepting());
+    }
+
+    @Test
+    void rejectsInvalidSnapshots() {
+        var cursor = cursor().feed('a');
+        int snapshot = cursor.snapshot();
+
+        assertThrows(IllegalArgumentException.class, () -> cursor.restore(-2));
+        assertThrows(IllegalArgumentException.class, () -> cursor.restore(Integer.MAX_VALUE));
+
+        // A rejected snapshot leaves the cursor where it was
+        assertEquals(snapshot, cursor.snapshot());
+        assertTrue(cursor.feed('b').isAccepting());
+    }
+
+    @Test
+    void agreesWithLanguage() {
+        var random = new Random(7);
+
+        for (int i = 0; i < 20; i++) {
+            var nfa = Languages.random(random, 5);
+            var cursor = nfa.cursor();
+
+            for (var prefix : new String[]{"", "a", "b", "ab", "ba", "aab", "bba"}) {
+                cursor.reset();
+                cursor.feed(prefix);
+                assertEquals(Languages.accepts(nfa, prefix), cursor.isAccepting(), prefix);
+
+                if (cursor.isDead()) {
+                    for (var suffix : new String[]{"", "a", "b", "aa", "ab", "ba", "bb"}) {
+                        assertFalse(Languages.accepts(nfa, prefix + suffix), prefix + suffix);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package de.thm.asc.automata.matching;
+
+import de.thm.asc.automata.FiniteAutomaton;
+import de.thm.asc.automata.Languages;
+import de.thm.asc.automata.parsing.AutomatonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductMatcherTest {
+
+    // Words containing an even number of a
+    private static final FiniteAutomaton EVEN_A = AutomatonParser.parse("""
+            [q0] -> q1: a
+            q1 -> (q0): a
+            q0 -> q0: b
+            q1 -> q1: b
+            """);
+
+    // Words ending with ab
+    private static final FiniteAutomaton ENDS_AB = AutomatonParser.parse("""
+            [q0] -> q0: a
+            q0 -> q0: b
+            q0 -> q1: a
+            q1 -> (q2): b
+            """);
+
+    /**
+     * @return All words up to the given length over the given alphabet.
+     */
+    private static List<String> words(String alphabet, int maxLength) {
+        List<String> words = new ArrayList<>(List.of(""));
+
+        for (int i = 0; i < words.size(); i++) {
+            if (words.get(i).length() == maxLength) continue;
+            for (var c : alphabet.toCharArray()) {
+                words.add(words.get(i) + c);
+            }
+        }
+
+        return words;
+    }
+
+    private static void assertLanguage(Predicate<String> expected, ProductMatcher matcher, String alphabet) {
+        for (var word : words(alphabet, 7)) {
+            assertEquals(expected.test(word), matcher.test(word), word);
+        }
+    }
+
+    @Test
+    void intersects() {
+        for (int cacheSize : new int[]{1, 2, ProductMatcher.DEFAULT_CACHE_SIZE}) {
+            var matcher = new ProductMatcher(List.of(EVEN_A, ENDS_AB), accepting -> accepting[0] && accepting[1], cacheSize);
+
+            assertLanguage(w -> Languages.accepts(EVEN_A, w) && Languages.accepts(ENDS_AB, w), matcher, "abx");
+            assertTrue(matcher.cachedStates() <= cacheSize);
+        }
+    }
+
+    @Test
+    void subtracts() {
+        for (int cacheSize : new int[]{1, 2, ProductMatcher.DEFAULT_CACHE_SIZE}) {
+            var matcher = new ProductMatcher(List.of(EVEN_A, ENDS_AB), accepting -> accepting[0] && !accepting[1], cacheSize);
+
+            assertLanguage(w -> Languages.accepts(EVEN_A, w) && !Languages.accepts(ENDS_AB, w), matcher, "abx");
+            assertTrue(matcher.cachedStates() <= cacheSize);
+        }
+    }
+
+    @Test
+    void flushesWhileMatchingRandomAutomata() {
+        var random = new Random(4);
+
+        for (int i = 0; i < 20; i++) {
+            var a = Languages.random(random, 6);
+            var b = Languages.random(random, 6);
+            var matcher = new ProductMatcher(List.of(a, b), accepting -> accepting[0] != accepting[1], 2);
+
+            assertLanguage(w -> Languages.accepts(a, w) != Languages.accepts(b, w), matcher, "ab");
+        }
+    }
+
+    @Test
+    void agreesWithConstructedProduct() {
+        var matchers = List.of(
+                ProductMatcher.intersection(EVEN_A, ENDS_AB),
+                ProductMatcher.difference(EVEN_A, ENDS_AB),
+                ProductMatcher.difference(ENDS_AB, EVEN_A),
+                ProductMatcher.complement(ENDS_AB)
+        );
+
+        for (var matcher : matchers) {
+            var product = matcher.toAutomaton();
+
+            assertTrue(product.isDeterministic());
+            assertLanguage(w -> Languages.accepts(product, w), matcher, "ab");
+        }
+    }
+
+    @Test
+    void treatsUnknownCharactersAsDead() {
+        var a = AutomatonParser.parse("[q0] -> (q1): a\n");
+
+        // Every operand is dead after x, so the outcome is decided without reading the rest
+        assertFalse(ProductMatcher.intersection(a, a).test("xa"));
+        assertFalse(ProductMatcher.difference(a, a).test("axxxx"));
+        assertTrue(ProductMatcher.complement(a).test("xa"));
+    }
+
+    @Test
+    void complementAcceptsCharactersOutsideAlphabet() {
+        var a = AutomatonParser.parse("[q0] -> (q1): a\n");
+        var complement = ProductMatcher.complement(a);
+
+        // Matching completes the operand by a dead state for any character ...
+        assertTrue(complement.test("b"));
+        assertFalse(complement.test("a"));
+
+        // ... but the constructed complement only knows the alphabet of the operand
+        var automaton = complement.toAutomaton();
+        assertFalse(Languages.accepts(automaton, "b"));
+        assertTrue(Languages.accepts(automaton, "aa"));
+    }
+
+    @Test
+    void rejectsEmptyCache() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProductMatcher(List.of(EVEN_A), accepting -> accepting[0], 0));
+    }
+}
@@ -0,0 +1,48 @@
+package de.thm.asc.automata.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private static long single(long nanos) {
+        var histogram = new LatencyHistogram();
+        histogram.record(nanos);
+        return histogram.percentile(100);
+    }
+
+    @Test
+    void roundsUpToBucketBoundary() {
+        assertEquals(1, single(0));
+        assertEquals(1, single(1));
+        assertEquals(3, single(2));
+        assertEquals(3, single(3));
+        assertEquals(7, single(4));
+        assertEquals(1023, single(1023));
+        assertEquals(2047, single(1024));
+        assertEquals((1L << 62) - 1, single(1L << 61));
+        assertEquals(Long.MAX_VALUE, single(1L << 62));
+        assertEquals(Long.MAX_VALUE, single(Long.MAX_VALUE));
+    }
+
+    @Test
+    void computesPercentiles() {
+        var histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(10_000);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(127, histogram.percentile(0));
+        assertEquals(127, histogram.percentile(50));
+        assertEquals(127, histogram.percentile(90));
+        assertEquals(16383, histogram.percentile(91));
+        assertEquals(16383, histogram.percentile(100));
+    }
+}
@@ -0,0 +1,161 @@
+package de.thm.asc.automata.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.net.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchServerTest {
+
+    @TempDir
+    Path directory;
+
+    private MatchServer start(SocketAddress address) throws IOException {
+        var file = directory.resolve("ab.txt");
+        Files.writeString(file, "[q0] -> q1: a\nq1 -> (q2): b\n");
+
+        var server = new MatchServer(List.of(file));
+        server.bind(address);
+
+        Thread.ofVirtual().start(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return server;
+    }
+
+    private static void writeMatch(DataOutputStream out, String automaton, String input) throws IOException {
+        var name = automaton.getBytes(StandardCharsets.UTF_8);
+        var bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        out.writeByte(MatchServer.MATCH);
+        out.writeShort(name.length);
+        out.write(name);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Test
+    void answersRequestsOverLoopback() throws IOException {
+        try (var server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+             var client = SocketChannel.open(server.address());
+             var in = new DataInputStream(Channels.newInputStream(client));
+             var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)))) {
+            // Pipelined requests are answered in order
+            writeMatch(out, "ab.txt", "ab");
+            writeMatch(out, "ab.txt", "aba");
+            writeMatch(out, "missing.txt", "ab");
+            out.flush();
+
+            assertEquals(MatchServer.ACCEPTED, in.readByte());
+            assertEquals(MatchServer.REJECTED, in.readByte());
+            assertEquals(MatchServer.UNKNOWN_AUTOMATON, in.readByte());
+
+            out.writeByte(MatchServer.STATISTICS);
+            out.flush();
+
+            var text = new byte[in.readInt()];
+            in.readFully(text);
+            assertTrue(new String(text, StandardCharsets.UTF_8).startsWith("ab.txt: count=2 "));
+            assertEquals(2, server.histograms().get("ab.txt").count());
+        }
+    }
+
+    @Test
+    void closesConnectionOnInvalidLength() throws IOException {
+        for (int length : new int[]{-1, 64 * 1024 * 1024 + 1}) {
+            try (var server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                 var client = SocketChannel.open(server.address());
+                 var in = new DataInputStream(Channels.newInputStream(client));
+                 var out = new DataOutputStream(Channels.newOutputStream(client))) {
+                var name = "ab.txt".getBytes(StandardCharsets.UTF_8);
+                out.writeByte(MatchServer.MATCH);
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeInt(length);
+
+                assertEquals(-1, in.read());
+            }
+        }
+    }
+
+    @Test
+    void closesConnectionOnUnknownRequest() throws IOException {
+        try (var server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+             var client = SocketChannel.open(server.address());
+             var in = new DataInputStream(Channels.newInputStream(client));
+             var out = new DataOutputStream(Channels.newOutputStream(client))) {
+            out.writeByte('X');
+
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void replacesStaleSocket() throws IOException {
+        var socket = UnixDomainSocketAddress.of(directory.resolve("server.sock"));
+
+        // A closed channel leaves its socket file behind, like a killed server
+        try (var channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.bind(socket);
+        }
+        assertTrue(Files.exists(socket.getPath()));
+
+        try (var server = start(socket);
+             var client = SocketChannel.open(socket);
+             var in = new DataInputStream(Channels.newInputStream(client));
+             var out = new DataOutputStream(Channels.newOutputStream(client))) {
+            writeMatch(out, "ab.txt", "ab");
+            assertEquals(MatchServer.ACCEPTED, in.readByte());
+        }
+
+        assertFalse(Files.exists(socket.getPath()));
+    }
+
+    @Test
+    void keepsSocketOfRunningServer() throws IOException {
+        var socket = UnixDomainSocketAddress.of(directory.resolve("server.sock"));
+
+        try (var channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+             var server = new MatchServer(List.of())) {
+            channel.bind(socket);
+
+            assertThrows(BindException.class, () -> server.bind(socket));
+            assertTrue(Files.exists(socket.getPath()));
+        }
+    }
+
+    @Test
+    void keepsRegularFile() throws IOException {
+        var file = directory.resolve("server.sock");
+        Files.writeString(file, "data");
+
+        try (var server = new MatchServer(List.of())) {
+            assertThrows(IOException.class, () -> server.bind(UnixDomainSocketAddress.of(file)));
+        }
+
+        assertEquals("data", Files.readString(file));
+    }
+
+    @Test
+    void rejectsInvalidAutomaton() throws IOException {
+        var file = directory.resolve("invalid.txt");
+        Files.writeString(file, "q0 ->");
+
+        assertThrows(IllegalArgumentException.class, () -> new MatchServer(List.of(file)));
+    }
+}